@@ -2,6 +2,7 @@ package com.examly.springapp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
@@ -11,6 +12,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 public class SpringappApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(SpringappApplication.class, args);
+        SpringApplication application = new SpringApplication(SpringappApplication.class);
+        // Startup steps (bean creation, Flyway, JPA bootstrap) for /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
     }
 }
\ No newline at end of file
@@ -3,143 +3,207 @@ package com.examly.springapp.aop;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Low-overhead tracing of controller, service and repository calls.
+ *
+ * Arguments are only formatted when the target log level is enabled, and then only
+ * as a bounded summary: simple values are printed (truncated), collections and
+ * arrays by size and anything else, such as entities, by type. Method names are
+ * resolved once per target class and Method and cached.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
-    
+
+    private static final int MAX_ARGUMENT_LENGTH = 64;
+
+    private static final int MAX_ARGUMENTS_LENGTH = 256;
+
+    private final Map<TargetMethod, String> methodNames = new ConcurrentHashMap<>();
+
     @Pointcut("execution(* com.examly.springapp.controller.*.*(..))")
     public void controllerMethods() {}
-    
-    @Pointcut("execution(* com.examly.springapp.service.*.*(..))")
+
+    // @Service classes only, not the in-memory helpers they call on every request
+    @Pointcut("execution(* com.examly.springapp.service.*.*(..)) && within(@org.springframework.stereotype.Service *)")
     public void serviceMethods() {}
-    
+
     @Pointcut("execution(* com.examly.springapp.repository.*.*(..))")
     public void repositoryMethods() {}
-    
+
     @Before("controllerMethods()")
     public void logBeforeController(JoinPoint joinPoint) {
-        logger.info("Entering controller method: {} with arguments: {}", 
-                   joinPoint.getSignature().getName(), 
-                   Arrays.toString(joinPoint.getArgs()));
+        if (logger.isInfoEnabled()) {
+            logger.info("Entering controller method: {} with arguments: {}",
+                       methodName(joinPoint),
+                       summarize(joinPoint.getArgs()));
+        }
     }
-    
+
     @AfterReturning(pointcut = "controllerMethods()", returning = "result")
     public void logAfterController(JoinPoint joinPoint, Object result) {
-        logger.info("Exiting controller method: {} with result: {}", 
-                   joinPoint.getSignature().getName(), 
-                   result != null ? result.getClass().getSimpleName() : "null");
+        if (logger.isInfoEnabled()) {
+            logger.info("Exiting controller method: {} with result: {}",
+                       methodName(joinPoint),
+                       result != null ? result.getClass().getSimpleName() : "null");
+        }
     }
-    
+
     @AfterThrowing(pointcut = "controllerMethods()", throwing = "exception")
     public void logControllerException(JoinPoint joinPoint, Exception exception) {
-        logger.error("Exception in controller method: {} with message: {}", 
-                    joinPoint.getSignature().getName(), 
+        logger.error("Exception in controller method: {} with message: {}",
+                    methodName(joinPoint),
                     exception.getMessage());
     }
-    
+
     @Before("serviceMethods()")
     public void logBeforeService(JoinPoint joinPoint) {
-        logger.debug("Entering service method: {} with arguments: {}", 
-                    joinPoint.getSignature().getName(), 
-                    Arrays.toString(joinPoint.getArgs()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Entering service method: {} with arguments: {}",
+                        methodName(joinPoint),
+                        summarize(joinPoint.getArgs()));
+        }
     }
-    
+
     @AfterReturning(pointcut = "serviceMethods()", returning = "result")
     public void logAfterService(JoinPoint joinPoint, Object result) {
-        logger.debug("Exiting service method: {} with result: {}", 
-                    joinPoint.getSignature().getName(), 
-                    result != null ? result.getClass().getSimpleName() : "null");
+        if (logger.isDebugEnabled()) {
+            logger.debug("Exiting service method: {} with result: {}",
+                        methodName(joinPoint),
+                        result != null ? result.getClass().getSimpleName() : "null");
+        }
     }
-    
+
     @AfterThrowing(pointcut = "serviceMethods()", throwing = "exception")
     public void logServiceException(JoinPoint joinPoint, Exception exception) {
-        logger.error("Exception in service method: {} with message: {}", 
-                    joinPoint.getSignature().getName(), 
+        logger.error("Exception in service method: {} with message: {}",
+                    methodName(joinPoint),
                     exception.getMessage());
     }
-    
+
     @Around("repositoryMethods()")
     public Object logAroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
-        logger.debug("Executing repository method: {} with arguments: {}", 
-                    joinPoint.getSignature().getName(), 
-                    Arrays.toString(joinPoint.getArgs()));
-        
+        boolean debug = logger.isDebugEnabled();
+        if (debug) {
+            logger.debug("Executing repository method: {} with arguments: {}",
+                        methodName(joinPoint),
+                        summarize(joinPoint.getArgs()));
+        }
+
+        long startTime = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
-            long endTime = System.currentTimeMillis();
-            
-            logger.debug("Repository method: {} executed successfully in {} ms", 
-                        joinPoint.getSignature().getName(), 
-                        (endTime - startTime));
-            
+
+            if (debug) {
+                logger.debug("Repository method: {} executed successfully in {} us",
+                            methodName(joinPoint),
+                            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+            }
+
             return result;
         } catch (Exception exception) {
-            long endTime = System.currentTimeMillis();
-            
-            logger.error("Exception in repository method: {} after {} ms with message: {}", 
-                        joinPoint.getSignature().getName(), 
-                        (endTime - startTime), 
+            logger.error("Exception in repository method: {} after {} us with message: {}",
+                        methodName(joinPoint),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime),
                         exception.getMessage());
-            
+
             throw exception;
         }
     }
-    
+
     @Around("execution(* com.examly.springapp.service.*.create*(..))")
     public Object logCreateOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        logger.info("Creating new entity via method: {}", joinPoint.getSignature().getName());
-        
-        try {
-            Object result = joinPoint.proceed();
-            logger.info("Successfully created entity via method: {}", joinPoint.getSignature().getName());
-            return result;
-        } catch (Exception exception) {
-            logger.error("Failed to create entity via method: {} with error: {}", 
-                        joinPoint.getSignature().getName(), 
-                        exception.getMessage());
-            throw exception;
-        }
+        return logWriteOperation(joinPoint, "Creating new entity", "Successfully created entity", "Failed to create entity");
     }
-    
+
     @Around("execution(* com.examly.springapp.service.*.update*(..))")
     public Object logUpdateOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        logger.info("Updating entity via method: {}", joinPoint.getSignature().getName());
-        
-        try {
-            Object result = joinPoint.proceed();
-            logger.info("Successfully updated entity via method: {}", joinPoint.getSignature().getName());
-            return result;
-        } catch (Exception exception) {
-            logger.error("Failed to update entity via method: {} with error: {}", 
-                        joinPoint.getSignature().getName(), 
-                        exception.getMessage());
-            throw exception;
-        }
+        return logWriteOperation(joinPoint, "Updating entity", "Successfully updated entity", "Failed to update entity");
     }
-    
+
     @Around("execution(* com.examly.springapp.service.*.delete*(..))")
     public Object logDeleteOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        logger.info("Deleting entity via method: {}", joinPoint.getSignature().getName());
-        
+        return logWriteOperation(joinPoint, "Deleting entity", "Successfully deleted entity", "Failed to delete entity");
+    }
+
+    private Object logWriteOperation(ProceedingJoinPoint joinPoint, String before, String after, String failure) throws Throwable {
+        if (logger.isInfoEnabled()) {
+            logger.info("{} via method: {}", before, methodName(joinPoint));
+        }
+
         try {
             Object result = joinPoint.proceed();
-            logger.info("Successfully deleted entity via method: {}", joinPoint.getSignature().getName());
+            if (logger.isInfoEnabled()) {
+                logger.info("{} via method: {}", after, methodName(joinPoint));
+            }
             return result;
         } catch (Exception exception) {
-            logger.error("Failed to delete entity via method: {} with error: {}", 
-                        joinPoint.getSignature().getName(), 
+            logger.error("{} via method: {} with error: {}",
+                        failure,
+                        methodName(joinPoint),
                         exception.getMessage());
             throw exception;
         }
     }
-}
\ No newline at end of file
+
+    private String methodName(JoinPoint joinPoint) {
+        if (joinPoint.getSignature() instanceof MethodSignature signature) {
+            Method method = signature.getMethod();
+            Object target = joinPoint.getTarget();
+            return methodNames.computeIfAbsent(TargetMethod.of(target, method),
+                    key -> TargetMethod.reportedClass(target, method).getSimpleName() + "." + method.getName());
+        }
+        return joinPoint.getSignature().getName();
+    }
+
+    static String summarize(Object[] args) {
+        StringBuilder summary = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            if (summary.length() >= MAX_ARGUMENTS_LENGTH) {
+                summary.append("...");
+                break;
+            }
+            appendArgument(summary, args[i]);
+        }
+        return summary.append(']').toString();
+    }
+
+    private static void appendArgument(StringBuilder summary, Object arg) {
+        if (arg == null) {
+            summary.append("null");
+        } else if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean
+                || arg instanceof Enum || arg instanceof Temporal) {
+            String value = arg.toString();
+            if (value.length() > MAX_ARGUMENT_LENGTH) {
+                summary.append(value, 0, MAX_ARGUMENT_LENGTH).append("...");
+            } else {
+                summary.append(value);
+            }
+        } else if (arg instanceof Collection<?> collection) {
+            summary.append(arg.getClass().getSimpleName()).append("[size=").append(collection.size()).append(']');
+        } else if (arg.getClass().isArray()) {
+            summary.append(arg.getClass().getComponentType().getSimpleName())
+                   .append("[length=").append(java.lang.reflect.Array.getLength(arg)).append(']');
+        } else {
+            // Entities and other objects are logged by type only, never via toString()
+            summary.append(arg.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.examly.springapp.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a Micrometer timer for every controller, service and repository call.
+ *
+ * Timers are named {@code app.method.calls} and tagged with layer, class, method
+ * and outcome (success or error). The class is that of the target, so repositories
+ * sharing an inherited method such as save get timers of their own. Timers are cached
+ * per target class and Method, so the hot path is a map lookup plus Timer.Sample. The
+ * success timer is registered on the first call and the error timer on the first
+ * failure, so methods that never fail do not carry a second histogram.
+ *
+ * Service timing covers the @Service classes only; the in-memory helpers in the service
+ * package (indexes, locks, pricing tables) are called inside them and timed as part of
+ * the calling service method.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    static final String METRIC_NAME = "app.method.calls";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.percentile-histogram:true}")
+    private boolean percentileHistogram;
+
+    private final Map<TargetMethod, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    @Pointcut("execution(* com.examly.springapp.controller.*.*(..))")
+    public void controllerMethods() {}
+
+    @Pointcut("execution(* com.examly.springapp.service.*.*(..)) && within(@org.springframework.stereotype.Service *)")
+    public void serviceMethods() {}
+
+    @Pointcut("execution(* com.examly.springapp.repository.*.*(..))")
+    public void repositoryMethods() {}
+
+    @Around("controllerMethods()")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("serviceMethods()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    @Around("repositoryMethods()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "repository");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        MethodTimers methodTimers = timersFor(joinPoint, layer);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(methodTimers.success());
+            return result;
+        } catch (Throwable throwable) {
+            sample.stop(methodTimers.error());
+            throw throwable;
+        }
+    }
+
+    private MethodTimers timersFor(ProceedingJoinPoint joinPoint, String layer) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object target = joinPoint.getTarget();
+        return timers.computeIfAbsent(TargetMethod.of(target, method), key -> new MethodTimers(
+                layer, TargetMethod.reportedClass(target, method).getSimpleName(), method.getName()));
+    }
+
+    private Timer register(String layer, String className, String methodName, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Execution time of application methods")
+                .tag("layer", layer)
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry);
+    }
+
+    private final class MethodTimers {
+
+        private final String layer;
+
+        private final String className;
+
+        private final String methodName;
+
+        private final Timer success;
+
+        private volatile Timer error;
+
+        MethodTimers(String layer, String className, String methodName) {
+            this.layer = layer;
+            this.className = className;
+            this.methodName = methodName;
+            this.success = register(layer, className, methodName, "success");
+        }
+
+        Timer success() {
+            return success;
+        }
+
+        // Racing first failures both register; the registry hands them the same Timer
+        Timer error() {
+            Timer timer = error;
+            if (timer == null) {
+                timer = register(layer, className, methodName, "error");
+                error = timer;
+            }
+            return timer;
+        }
+    }
+}
\ No newline at end of file
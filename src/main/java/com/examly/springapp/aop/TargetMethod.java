@@ -0,0 +1,39 @@
+package com.examly.springapp.aop;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * A method as invoked on a particular target class, used by the aspects as cache key.
+ *
+ * The declaring class of a method is not enough to tell calls apart: the inherited
+ * Spring Data methods (save, delete, findAllById, ...) are declared by CrudRepository
+ * or ListCrudRepository for every repository, so bookingRepo.save and guestRepo.save
+ * would share a timer and a log name.
+ */
+record TargetMethod(Class<?> targetClass, Method method) {
+
+    static TargetMethod of(Object target, Method method) {
+        return new TargetMethod(target != null ? target.getClass() : method.getDeclaringClass(), method);
+    }
+
+    /**
+     * The type calls are reported under: the repository interface behind a repository
+     * proxy, otherwise the user class of the target.
+     */
+    static Class<?> reportedClass(Object target, Method method) {
+        if (target == null) {
+            return method.getDeclaringClass();
+        }
+        if (AopUtils.isJdkDynamicProxy(target)) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(target);
+            if (interfaces.length > 0) {
+                return interfaces[0];
+            }
+        }
+        return ClassUtils.getUserClass(target);
+    }
+}
\ No newline at end of file
@@ -1,19 +1,27 @@
 package com.examly.springapp.config;
 
 import com.examly.springapp.service.MyUserDetailsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -24,6 +32,36 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Value("${app.security.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    // Tokens whose signature has already been verified, each kept until its own expiry
+    private Cache<String, ValidatedToken> validatedTokens;
+
+    @PostConstruct
+    public void initTokenCache() {
+        validatedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(new Expiry<String, ValidatedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, ValidatedToken value, long currentTime) {
+                        long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, ValidatedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, ValidatedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -31,30 +69,52 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwt = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtils.extractUsername(jwt);
-            } catch (Exception e) {
-                // Log exception if needed
+            ValidatedToken token = validate(authorizationHeader.substring(7));
+            if (token != null) {
+                username = token.username();
             }
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtils.validateToken(jwt, userDetails)) {
+            try {
+                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 usernamePasswordAuthenticationToken
                         .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+            } catch (UsernameNotFoundException e) {
+                // Token for a user that no longer exists: leave the request unauthenticated
             }
         }
         chain.doFilter(request, response);
     }
-}
+
+    /**
+     * Returns the verified token from the cache, or parses it once and caches it.
+     * Invalid or expired tokens return null and are not cached.
+     */
+    private ValidatedToken validate(String jwt) {
+        ValidatedToken cached = validatedTokens.getIfPresent(jwt);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached;
+        }
+
+        try {
+            Claims claims = jwtUtils.parseClaims(jwt);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            ValidatedToken token = new ValidatedToken(claims.getSubject(), claims.getExpiration().getTime());
+            validatedTokens.put(jwt, token);
+            return token;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private record ValidatedToken(String username, long expiresAtMillis) {}
+}
\ No newline at end of file
@@ -1,22 +1,100 @@
 package com.examly.springapp.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the HMAC-SHA signed tokens used by the API.
+ *
+ * The signing key comes from app.security.jwt.secret (Base64, at least 256 bits).
+ * Tokens carry a kid header derived from their key, so keys listed in
+ * app.security.jwt.previous-secrets keep verifying tokens issued before a rotation.
+ * The parser is built once at startup; JwtParser is immutable and thread-safe.
+ */
 @Component
 public class JwtUtils {
 
-    private static final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+
+    @Value("${app.security.jwt.secret:}")
+    private String secret;
+
+    @Value("${app.security.jwt.previous-secrets:}")
+    private String[] previousSecrets;
+
+    @Value("${app.security.jwt.expiration-ms:36000000}")
+    private long expirationMs;
+
+    private SecretKey signingKey;
+
+    private String signingKeyId;
+
+    private final Map<String, Key> verificationKeys = new HashMap<>();
+
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("app.security.jwt.secret is not set, using a random signing key; "
+                    + "tokens will not survive a restart or work across instances");
+            signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            signingKey = decodeKey(secret);
+        }
+        signingKeyId = keyId(signingKey);
+        verificationKeys.put(signingKeyId, signingKey);
+
+        if (previousSecrets != null) {
+            for (String previous : previousSecrets) {
+                if (!previous.isBlank()) {
+                    SecretKey key = decodeKey(previous.trim());
+                    verificationKeys.put(keyId(key), key);
+                }
+            }
+        }
+
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String kid = header.getKeyId();
+                        // Tokens issued before key ids were introduced are checked against the current key
+                        if (kid == null) {
+                            return signingKey;
+                        }
+                        Key key = verificationKeys.get(kid);
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key id: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -27,16 +105,16 @@ public class JwtUtils {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(SECRET_KEY).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the signature and expiry of the token once and returns its claims.
+     * Throws a JwtException if the token is malformed, tampered with or expired.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -45,13 +123,38 @@ public class JwtUtils {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
-                .signWith(SECRET_KEY).compact();
+        long now = System.currentTimeMillis();
+        return Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
+                .setClaims(claims).setSubject(subject).setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs))
+                .signWith(signingKey).compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = parseClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
+    }
+
+    private static SecretKey decodeKey(String encoded) {
+        byte[] bytes;
+        try {
+            bytes = Decoders.BASE64.decode(encoded);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("JWT secret must be Base64 encoded", e);
+        }
+        if (bytes.length < 32) {
+            throw new IllegalStateException("JWT secret must be at least 256 bits (32 bytes) long");
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+
+    // Short, stable identifier of a key that does not reveal the key itself
+    private static String keyId(SecretKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
+}
\ No newline at end of file
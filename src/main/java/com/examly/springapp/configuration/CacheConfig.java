@@ -0,0 +1,59 @@
+package com.examly.springapp.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caffeine-backed Spring Cache for the hot read methods of the room and category services.
+ *
+ * Every cache is size and TTL bounded by a Caffeine spec, taken from
+ * app.cache.specs.&lt;cache-name&gt; or else app.cache.default-spec. Caches record stats
+ * for the cache.* metrics and the /actuator/caches view. The manager is transaction
+ * aware, so puts and evictions made inside a transaction are applied after it commits
+ * and a rolled back write never evicts or pollutes a cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ROOM_CATEGORIES = "roomCategories";
+    public static final String ROOM_CATEGORY_BY_NAME = "roomCategoryByName";
+    public static final String ROOM_CATEGORY_COUNT = "roomCategoryCount";
+    public static final String AVAILABLE_ROOMS = "availableRooms";
+    public static final String ROOMS_BY_CATEGORY = "roomsByCategory";
+
+    private static final List<String> CACHE_NAMES = List.of(ROOM_CATEGORIES, ROOM_CATEGORY_BY_NAME,
+            ROOM_CATEGORY_COUNT, AVAILABLE_ROOMS, ROOMS_BY_CATEGORY);
+
+    @Value("${app.cache.default-spec:maximumSize=1000,expireAfterWrite=60s}")
+    private String defaultSpec;
+
+    @Bean
+    public CacheManager cacheManager(Environment environment) {
+        Map<String, String> specs = Binder.get(environment)
+                .bind("app.cache.specs", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        // Static mode: a typo in a cache name fails instead of silently creating a new cache
+        caffeineCacheManager.setCacheNames(CACHE_NAMES);
+        for (String name : CACHE_NAMES) {
+            String spec = specs.getOrDefault(name, defaultSpec);
+            caffeineCacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+        }
+
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
\ No newline at end of file
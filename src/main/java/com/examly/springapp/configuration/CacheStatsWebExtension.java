@@ -0,0 +1,64 @@
+package com.examly.springapp.configuration;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpointWebExtension;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Replaces the web view of /actuator/caches with one that also reports size, hits,
+ * misses, hit ratio and evictions of every Caffeine cache. Extending Spring Boot's
+ * own extension keeps /actuator/caches/{name} and DELETE working and stops Boot from
+ * registering a second extension for the same endpoint.
+ */
+@Component
+@EndpointWebExtension(endpoint = CachesEndpoint.class)
+public class CacheStatsWebExtension extends CachesEndpointWebExtension {
+
+    @Autowired
+    private Map<String, CacheManager> cacheManagers;
+
+    public CacheStatsWebExtension(CachesEndpoint delegate) {
+        super(delegate);
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> managers = new TreeMap<>();
+        cacheManagers.forEach((managerName, cacheManager) -> {
+            Map<String, Object> caches = new TreeMap<>();
+            for (String cacheName : cacheManager.getCacheNames()) {
+                caches.put(cacheName, describe(cacheManager.getCache(cacheName)));
+            }
+            managers.put(managerName, Map.of("caches", caches));
+        });
+        return Map.of("cacheManagers", managers);
+    }
+
+    private static Map<String, Object> describe(Cache cache) {
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("target", target.getNativeCache().getClass().getName());
+        if (target instanceof CaffeineCache caffeineCache) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+            description.put("size", nativeCache.estimatedSize());
+            description.put("hitCount", stats.hitCount());
+            description.put("missCount", stats.missCount());
+            description.put("hitRatio", stats.hitRate());
+            description.put("evictionCount", stats.evictionCount());
+        }
+        return description;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.examly.springapp.configuration;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fails startup when app.threads.virtual.enabled is set but VirtualThreadConfig is not
+ * part of the build, which happens when the application is built without -Pjava21.
+ * Requests would otherwise run on Tomcat's platform thread pool, undersized for the
+ * virtual-threads profile, with nothing but the missing thread names to tell.
+ *
+ * The check runs once all singletons exist and before the web server starts.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadGuard implements SmartInitializingSingleton {
+
+    private static final String VIRTUAL_THREAD_CONFIG_BEAN = "virtualThreadConfig";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!applicationContext.containsBean(VIRTUAL_THREAD_CONFIG_BEAN)) {
+            throw new IllegalStateException("app.threads.virtual.enabled is true but VirtualThreadConfig is missing; "
+                    + "build with -Pjava21 and run on Java 21 or set app.threads.virtual.enabled=false");
+        }
+    }
+}
\ No newline at end of file
@@ -42,6 +42,7 @@ public class AuthController {
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         userRepo.save(user);
+        userDetailsService.evict(user.getUsername());
         return ResponseEntity.ok("User registered successfully!");
     }
 
@@ -1,18 +1,26 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.BulkImportResult;
+import com.examly.springapp.dto.CursorPage;
 import com.examly.springapp.model.Booking;
+import com.examly.springapp.service.ExportService;
 import com.examly.springapp.service.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,9 +28,14 @@ import java.util.Optional;
 @RequestMapping("/api/bookings")
 public class BookingController {
     
+    private static final int MAX_SEEK_LIMIT = 100;
+    
     @Autowired
     private BookingService bookingService;
     
+    @Autowired
+    private ExportService exportService;
+    
     @PostMapping
     public ResponseEntity<?> createBooking(@RequestBody Booking booking) {
         try {
@@ -33,6 +46,12 @@ public class BookingController {
         }
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResult> importBookings(@RequestBody List<Booking> bookings) {
+        BulkImportResult result = bookingService.importBookings(bookings);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+    
     @GetMapping
     public ResponseEntity<List<Booking>> getAllBookings() {
         List<Booking> bookings = bookingService.getAllBookings();
@@ -42,6 +61,14 @@ public class BookingController {
         return new ResponseEntity<>(bookings, HttpStatus.OK);
     }
     
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        StreamingResponseBody body = outputStream -> exportService.exportBookings(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
         Optional<Booking> booking = bookingService.getBookingById(id);
@@ -120,6 +147,33 @@ public class BookingController {
         return new ResponseEntity<>(bookings, HttpStatus.OK);
     }
     
+    @GetMapping("/seek")
+    public ResponseEntity<CursorPage<Booking>> getBookingsWithCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        LocalDateTime bookingDate = null;
+        Long bookingId = null;
+        if (after != null && !after.isBlank()) {
+            String[] cursor = after.split(",");
+            try {
+                bookingDate = LocalDateTime.parse(cursor[0]);
+                bookingId = Long.valueOf(cursor[1]);
+            } catch (DateTimeParseException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor must be in the form <bookingDate>,<bookingId>");
+            }
+        }
+        
+        Slice<Booking> bookings = bookingService.getBookingsBefore(bookingDate, bookingId,
+                Math.min(Math.max(limit, 1), MAX_SEEK_LIMIT));
+        String nextCursor = null;
+        if (bookings.hasNext()) {
+            Booking last = bookings.getContent().get(bookings.getNumberOfElements() - 1);
+            nextCursor = last.getBookingDate() + "," + last.getBookingId();
+        }
+        return new ResponseEntity<>(new CursorPage<>(bookings.getContent(), nextCursor, bookings.hasNext()), HttpStatus.OK);
+    }
+    
     @GetMapping("/status/{status}/page/{pageNumber}/{pageSize}")
     public ResponseEntity<Page<Booking>> getBookingsByStatusWithPagination(
             @PathVariable Booking.BookingStatus status,
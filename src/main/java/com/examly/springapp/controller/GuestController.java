@@ -1,15 +1,19 @@
 package com.examly.springapp.controller;
 
 import com.examly.springapp.model.Guest;
+import com.examly.springapp.service.ExportService;
 import com.examly.springapp.service.GuestService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +25,9 @@ public class GuestController {
     @Autowired
     private GuestService guestService;
     
+    @Autowired
+    private ExportService exportService;
+    
     @PostMapping
     public ResponseEntity<?> createGuest(@RequestBody Guest guest) {
         try {
@@ -40,6 +47,25 @@ public class GuestController {
         return new ResponseEntity<>(guests, HttpStatus.OK);
     }
     
+    // Streams one NDJSON result line per input row while the upload is still being read
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importGuests(HttpServletRequest request) {
+        boolean csv = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        StreamingResponseBody body = outputStream -> guestService.importGuests(request.getInputStream(), csv, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportGuests() {
+        StreamingResponseBody body = outputStream -> exportService.exportGuests(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Guest> getGuestById(@PathVariable Long id) {
         Optional<Guest> guest = guestService.getGuestById(id);
@@ -110,15 +136,18 @@ public class GuestController {
     
     @GetMapping("/search")
     public ResponseEntity<Page<Guest>> searchGuests(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String email,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
+        // q searches name, email and phone at once; name and email are kept for existing clients
+        // and, as before, match guests whose name matches name or whose email matches email
         Pageable pageable = PageRequest.of(page, size, Sort.by("name"));
-        Page<Guest> guests = guestService.searchGuests(name != null ? name : "", 
-                                                      email != null ? email : "", 
-                                                      pageable);
+        Page<Guest> guests = q != null
+                ? guestService.searchGuests(q, pageable)
+                : guestService.searchGuestsByNameOrEmail(name, email, pageable);
         return new ResponseEntity<>(guests, HttpStatus.OK);
     }
     
@@ -1,19 +1,26 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.BulkImportResult;
+import com.examly.springapp.dto.CursorPage;
 import com.examly.springapp.model.Payment;
+import com.examly.springapp.service.ExportService;
 import com.examly.springapp.service.PaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,9 +28,14 @@ import java.util.Optional;
 @RequestMapping("/api/payments")
 public class PaymentController {
     
+    private static final int MAX_SEEK_LIMIT = 100;
+    
     @Autowired
     private PaymentService paymentService;
     
+    @Autowired
+    private ExportService exportService;
+    
     @PostMapping
     public ResponseEntity<Payment> createPayment(@RequestBody Payment payment) {
         try {
@@ -34,6 +46,12 @@ public class PaymentController {
         }
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResult> importPayments(@RequestBody List<Payment> payments) {
+        BulkImportResult result = paymentService.importPayments(payments);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+    
     @GetMapping
     public ResponseEntity<List<Payment>> getAllPayments() {
         List<Payment> payments = paymentService.getAllPayments();
@@ -43,6 +61,14 @@ public class PaymentController {
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
     
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPayments() {
+        StreamingResponseBody body = outputStream -> exportService.exportPayments(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Payment> getPaymentById(@PathVariable Long id) {
         Optional<Payment> payment = paymentService.getPaymentById(id);
@@ -156,6 +182,33 @@ public class PaymentController {
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
     
+    @GetMapping("/seek")
+    public ResponseEntity<CursorPage<Payment>> getPaymentsWithCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        LocalDateTime paymentDate = null;
+        Long paymentId = null;
+        if (after != null && !after.isBlank()) {
+            String[] cursor = after.split(",");
+            try {
+                paymentDate = LocalDateTime.parse(cursor[0]);
+                paymentId = Long.valueOf(cursor[1]);
+            } catch (DateTimeParseException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor must be in the form <paymentDate>,<paymentId>");
+            }
+        }
+        
+        Slice<Payment> payments = paymentService.getPaymentsBefore(paymentDate, paymentId,
+                Math.min(Math.max(limit, 1), MAX_SEEK_LIMIT));
+        String nextCursor = null;
+        if (payments.hasNext()) {
+            Payment last = payments.getContent().get(payments.getNumberOfElements() - 1);
+            nextCursor = last.getPaymentDate() + "," + last.getPaymentId();
+        }
+        return new ResponseEntity<>(new CursorPage<>(payments.getContent(), nextCursor, payments.hasNext()), HttpStatus.OK);
+    }
+    
     @GetMapping("/status/{status}/page/{pageNumber}/{pageSize}")
     public ResponseEntity<Page<Payment>> getPaymentsByStatusWithPagination(
             @PathVariable Payment.PaymentStatus status,
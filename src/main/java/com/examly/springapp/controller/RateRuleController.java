@@ -0,0 +1,67 @@
+package com.examly.springapp.controller;
+
+import com.examly.springapp.model.RateRule;
+import com.examly.springapp.service.RateRuleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/rate-rules")
+public class RateRuleController {
+    
+    @Autowired
+    private RateRuleService rateRuleService;
+    
+    @PostMapping
+    public ResponseEntity<?> createRateRule(@RequestBody RateRule rateRule) {
+        try {
+            RateRule createdRule = rateRuleService.createRateRule(rateRule);
+            return new ResponseEntity<>(createdRule, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<RateRule>> getAllRateRules() {
+        List<RateRule> rules = rateRuleService.getAllRateRules();
+        return new ResponseEntity<>(rules, HttpStatus.OK);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<RateRule> getRateRuleById(@PathVariable Long id) {
+        Optional<RateRule> rule = rateRuleService.getRateRuleById(id);
+        if (rule.isPresent()) {
+            return new ResponseEntity<>(rule.get(), HttpStatus.OK);
+        }
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateRateRule(@PathVariable Long id, @RequestBody RateRule rateRule) {
+        try {
+            RateRule updatedRule = rateRuleService.updateRateRule(id, rateRule);
+            return new ResponseEntity<>(updatedRule, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("Rate rule not found")) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRateRule(@PathVariable Long id) {
+        try {
+            rateRuleService.deleteRateRule(id);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
\ No newline at end of file
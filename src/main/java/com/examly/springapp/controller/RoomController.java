@@ -1,24 +1,36 @@
 package com.examly.springapp.controller;
 
+import com.examly.springapp.dto.BulkPriceUpdate;
+import com.examly.springapp.dto.CursorPage;
+import com.examly.springapp.dto.PriceQuote;
+import com.examly.springapp.dto.RoomSuggestion;
 import com.examly.springapp.model.Room;
 import com.examly.springapp.service.RoomService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/rooms")
 public class RoomController {
     
+    private static final int MAX_SEEK_LIMIT = 100;
+    
+    private static final int MAX_SUGGEST_LIMIT = 50;
+    
     @Autowired
     private RoomService roomService;
     
@@ -89,6 +101,37 @@ public class RoomController {
         return new ResponseEntity<>(rooms, HttpStatus.OK);
     }
     
+    @GetMapping("/availability")
+    public ResponseEntity<?> getBookableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        try {
+            List<Room> rooms = roomService.getBookableRooms(checkIn, checkOut, category, minPrice, maxPrice);
+            return new ResponseEntity<>(rooms, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<?> getQuote(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        try {
+            PriceQuote quote = roomService.getQuote(id, checkIn, checkOut);
+            return new ResponseEntity<>(quote, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            }
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @GetMapping("/category/{categoryName}")
     public ResponseEntity<List<Room>> getRoomsByCategoryName(@PathVariable String categoryName) {
         List<Room> rooms = roomService.getRoomsByCategoryName(categoryName);
@@ -152,6 +195,16 @@ public class RoomController {
         }
     }
     
+    @PatchMapping("/pricing/bulk")
+    public ResponseEntity<?> bulkUpdatePricing(@RequestBody BulkPriceUpdate update) {
+        try {
+            int updated = roomService.bulkUpdatePricing(update);
+            return new ResponseEntity<>(Map.of("updated", updated), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     @GetMapping("/page/{pageNumber}/{pageSize}")
     public ResponseEntity<Page<Room>> getRoomsWithPagination(
             @PathVariable int pageNumber, 
@@ -162,6 +215,21 @@ public class RoomController {
         return new ResponseEntity<>(rooms, HttpStatus.OK);
     }
     
+    @GetMapping("/seek")
+    public ResponseEntity<CursorPage<Room>> getRoomsWithCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        // Room numbers are unique, so the number alone is a stable cursor
+        Slice<Room> rooms = roomService.getRoomsAfter(after != null && !after.isBlank() ? after : null,
+                Math.min(Math.max(limit, 1), MAX_SEEK_LIMIT));
+        String nextCursor = null;
+        if (rooms.hasNext()) {
+            nextCursor = rooms.getContent().get(rooms.getNumberOfElements() - 1).getRoomNumber();
+        }
+        return new ResponseEntity<>(new CursorPage<>(rooms.getContent(), nextCursor, rooms.hasNext()), HttpStatus.OK);
+    }
+    
     @GetMapping("/available/page/{pageNumber}/{pageSize}")
     public ResponseEntity<Page<Room>> getAvailableRoomsWithPagination(
             @PathVariable int pageNumber, 
@@ -172,6 +240,15 @@ public class RoomController {
         return new ResponseEntity<>(rooms, HttpStatus.OK);
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<RoomSuggestion>> suggestRooms(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        List<RoomSuggestion> rooms = roomService.suggestRooms(prefix, Math.min(Math.max(limit, 1), MAX_SUGGEST_LIMIT));
+        return new ResponseEntity<>(rooms, HttpStatus.OK);
+    }
+    
     @GetMapping("/exists/{roomNumber}")
     public ResponseEntity<Boolean> checkRoomExists(@PathVariable String roomNumber) {
         boolean exists = roomService.existsByRoomNumber(roomNumber);
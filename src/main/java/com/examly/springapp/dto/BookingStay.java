@@ -0,0 +1,18 @@
+package com.examly.springapp.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight projection of a booking's room and dates, used where the full
+ * Booking entity (with its guest and room) is not needed.
+ */
+public interface BookingStay {
+
+    Long getBookingId();
+
+    Long getRoomId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+}
@@ -0,0 +1,61 @@
+package com.examly.springapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were submitted and written, and why each
+ * rejected row failed. Row indexes refer to positions in the submitted array.
+ */
+public class BulkImportResult {
+    
+    private final int total;
+    
+    private int imported;
+    
+    private final List<RowError> errors = new ArrayList<>();
+    
+    public BulkImportResult(int total) {
+        this.total = total;
+    }
+    
+    public void addImported(int count) {
+        imported += count;
+    }
+    
+    public void addError(int index, String message) {
+        errors.add(new RowError(index, message));
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+    
+    public int getImported() {
+        return imported;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public static class RowError {
+    
+        private final int index;
+    
+        private final String message;
+    
+        public RowError(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+    
+        public int getIndex() {
+            return index;
+        }
+    
+        public String getMessage() {
+            return message;
+        }
+    }
+}
\ No newline at end of file
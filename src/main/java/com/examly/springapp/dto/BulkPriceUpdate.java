@@ -0,0 +1,63 @@
+package com.examly.springapp.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Request body of PATCH /api/rooms/pricing/bulk. The target is either a category name
+ * or a list of room ids; fields left null keep their current value.
+ */
+public class BulkPriceUpdate {
+    
+    private String categoryName;
+    
+    private List<Long> roomIds;
+    
+    private BigDecimal pricePerNight;
+    
+    private BigDecimal seasonalRate;
+    
+    private BigDecimal dynamicPriceMultiplier;
+    
+    public BulkPriceUpdate() {}
+    
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+    
+    public List<Long> getRoomIds() {
+        return roomIds;
+    }
+    
+    public void setRoomIds(List<Long> roomIds) {
+        this.roomIds = roomIds;
+    }
+    
+    public BigDecimal getPricePerNight() {
+        return pricePerNight;
+    }
+    
+    public void setPricePerNight(BigDecimal pricePerNight) {
+        this.pricePerNight = pricePerNight;
+    }
+    
+    public BigDecimal getSeasonalRate() {
+        return seasonalRate;
+    }
+    
+    public void setSeasonalRate(BigDecimal seasonalRate) {
+        this.seasonalRate = seasonalRate;
+    }
+    
+    public BigDecimal getDynamicPriceMultiplier() {
+        return dynamicPriceMultiplier;
+    }
+    
+    public void setDynamicPriceMultiplier(BigDecimal dynamicPriceMultiplier) {
+        this.dynamicPriceMultiplier = dynamicPriceMultiplier;
+    }
+}
\ No newline at end of file
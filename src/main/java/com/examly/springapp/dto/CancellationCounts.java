@@ -0,0 +1,11 @@
+package com.examly.springapp.dto;
+
+/**
+ * Bookings checking in inside a date window and how many of them were cancelled.
+ */
+public interface CancellationCounts {
+
+    Number getTotalBookings();
+
+    Number getCancelledBookings();
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.examly.springapp.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Share of the bookings checking in between startDate and endDate that were cancelled.
+ */
+public class CancellationReport {
+    
+    private final LocalDate startDate;
+    
+    private final LocalDate endDate;
+    
+    private final long totalBookings;
+    
+    private final long cancelledBookings;
+    
+    private final double cancellationRate;
+    
+    public CancellationReport(LocalDate startDate, LocalDate endDate, long totalBookings, long cancelledBookings) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalBookings = totalBookings;
+        this.cancelledBookings = cancelledBookings;
+        this.cancellationRate = totalBookings > 0 ? (double) cancelledBookings / totalBookings : 0;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public long getTotalBookings() {
+        return totalBookings;
+    }
+    
+    public long getCancelledBookings() {
+        return cancelledBookings;
+    }
+    
+    public double getCancellationRate() {
+        return cancellationRate;
+    }
+}
\ No newline at end of file
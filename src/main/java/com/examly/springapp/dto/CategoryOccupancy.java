@@ -0,0 +1,14 @@
+package com.examly.springapp.dto;
+
+/**
+ * Booked room-nights of a room category over a date window, next to the number of
+ * rooms in the category, as returned by the occupancy aggregate query.
+ */
+public interface CategoryOccupancy {
+
+    Long getCategoryId();
+
+    Number getRoomCount();
+
+    Number getBookedNights();
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.examly.springapp.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy, ADR (room revenue per occupied room-night) and RevPAR (room revenue per
+ * available room-night) of one room category, per night and over the whole period.
+ */
+public class CategoryOccupancyReport {
+    
+    private final Long categoryId;
+    
+    private final String categoryName;
+    
+    private final long roomCount;
+    
+    private final Night total;
+    
+    private final List<Night> nights;
+    
+    public CategoryOccupancyReport(Long categoryId, String categoryName, long roomCount,
+                                   List<NightlyOccupancy> nightlyOccupancy) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.roomCount = roomCount;
+        long occupiedRooms = 0;
+        BigDecimal roomRevenue = BigDecimal.ZERO;
+        this.nights = nightlyOccupancy.stream()
+                .map(night -> new Night(night.getNight(), roomCount, night.getOccupiedRooms().longValue(),
+                        night.getRoomRevenue()))
+                .toList();
+        for (Night night : nights) {
+            occupiedRooms += night.getOccupiedRooms();
+            roomRevenue = roomRevenue.add(night.getRoomRevenue());
+        }
+        this.total = new Night(null, roomCount * nights.size(), occupiedRooms, roomRevenue);
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+    
+    public String getCategoryName() {
+        return categoryName;
+    }
+    
+    public long getRoomCount() {
+        return roomCount;
+    }
+    
+    public Night getTotal() {
+        return total;
+    }
+    
+    public List<Night> getNights() {
+        return nights;
+    }
+    
+    public static class Night {
+    
+        private final LocalDate night;
+    
+        private final long occupiedRooms;
+    
+        private final double occupancyRate;
+    
+        private final BigDecimal roomRevenue;
+    
+        private final BigDecimal adr;
+    
+        private final BigDecimal revPar;
+    
+        Night(LocalDate night, long availableRooms, long occupiedRooms, BigDecimal roomRevenue) {
+            this.night = night;
+            this.occupiedRooms = occupiedRooms;
+            this.roomRevenue = roomRevenue.setScale(2, RoundingMode.HALF_UP);
+            this.occupancyRate = availableRooms > 0 ? (double) occupiedRooms / availableRooms : 0;
+            this.adr = divide(roomRevenue, occupiedRooms);
+            this.revPar = divide(roomRevenue, availableRooms);
+        }
+    
+        private static BigDecimal divide(BigDecimal amount, long count) {
+            return count > 0 ? amount.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO.setScale(2);
+        }
+    
+        public LocalDate getNight() {
+            return night;
+        }
+    
+        public long getOccupiedRooms() {
+            return occupiedRooms;
+        }
+    
+        public double getOccupancyRate() {
+            return occupancyRate;
+        }
+    
+        public BigDecimal getRoomRevenue() {
+            return roomRevenue;
+        }
+    
+        public BigDecimal getAdr() {
+            return adr;
+        }
+    
+        public BigDecimal getRevPar() {
+            return revPar;
+        }
+    }
+}
\ No newline at end of file
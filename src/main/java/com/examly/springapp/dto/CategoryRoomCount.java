@@ -0,0 +1,13 @@
+package com.examly.springapp.dto;
+
+/**
+ * A room category and the number of rooms in it.
+ */
+public interface CategoryRoomCount {
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Number getRoomCount();
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.examly.springapp.dto;
+
+import java.util.List;
+
+/**
+ * A page of results for keyset (seek) pagination. Unlike Page it carries no total
+ * count; the next page is requested by passing nextCursor back as the "after" parameter.
+ */
+public class CursorPage<T> {
+    
+    private final List<T> content;
+    
+    private final String nextCursor;
+    
+    private final boolean hasNext;
+    
+    public CursorPage(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+    
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,20 @@
+package com.examly.springapp.dto;
+
+import com.examly.springapp.model.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Completed payments of one day and payment method.
+ */
+public interface DailyRevenue {
+
+    LocalDate getDay();
+
+    Payment.PaymentMethod getPaymentMethod();
+
+    long getPaymentCount();
+
+    BigDecimal getTotalAmount();
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.examly.springapp.dto;
+
+/**
+ * Projection of the guest columns held by the guest search index.
+ */
+public interface GuestSearchFields {
+
+    Long getGuestId();
+
+    String getName();
+
+    String getEmail();
+
+    String getPhone();
+}
\ No newline at end of file
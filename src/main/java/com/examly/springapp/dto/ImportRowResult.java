@@ -0,0 +1,54 @@
+package com.examly.springapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one row of a streamed import, written as one NDJSON line. Rows are
+ * numbered from 1 in input order, not counting a CSV header.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRowResult {
+    
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+    
+    private final long row;
+    
+    private final Status status;
+    
+    private final Long id;
+    
+    private final String message;
+    
+    private ImportRowResult(long row, Status status, Long id, String message) {
+        this.row = row;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+    
+    public static ImportRowResult created(long row, Long id) {
+        return new ImportRowResult(row, Status.CREATED, id, null);
+    }
+    
+    public static ImportRowResult rejected(long row, Status status, String message) {
+        return new ImportRowResult(row, status, null, message);
+    }
+    
+    public long getRow() {
+        return row;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.examly.springapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rooms of one category occupied on a night and the room revenue earned that night,
+ * each booking contributing its total amount divided by its number of nights.
+ */
+public interface NightlyOccupancy {
+
+    LocalDate getNight();
+
+    Number getOccupiedRooms();
+
+    BigDecimal getRoomRevenue();
+}
\ No newline at end of file
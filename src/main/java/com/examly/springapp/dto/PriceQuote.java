@@ -0,0 +1,51 @@
+package com.examly.springapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Price of a stay in one room: the rate of every night from checkIn up to (but
+ * excluding) checkOut, and their sum.
+ */
+public class PriceQuote {
+    
+    private final Long roomId;
+    
+    private final LocalDate checkIn;
+    
+    private final LocalDate checkOut;
+    
+    private final List<BigDecimal> nightlyRates;
+    
+    private final BigDecimal totalAmount;
+    
+    public PriceQuote(Long roomId, LocalDate checkIn, LocalDate checkOut, List<BigDecimal> nightlyRates,
+                      BigDecimal totalAmount) {
+        this.roomId = roomId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.nightlyRates = nightlyRates;
+        this.totalAmount = totalAmount;
+    }
+    
+    public Long getRoomId() {
+        return roomId;
+    }
+    
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+    
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+    
+    public List<BigDecimal> getNightlyRates() {
+        return nightlyRates;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
\ No newline at end of file
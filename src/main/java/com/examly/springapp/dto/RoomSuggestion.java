@@ -0,0 +1,31 @@
+package com.examly.springapp.dto;
+
+/**
+ * Entry of the room number typeahead: a room number with its room and category ids.
+ */
+public class RoomSuggestion {
+    
+    private final Long roomId;
+    
+    private final String roomNumber;
+    
+    private final Long categoryId;
+    
+    public RoomSuggestion(Long roomId, String roomNumber, Long categoryId) {
+        this.roomId = roomId;
+        this.roomNumber = roomNumber;
+        this.categoryId = categoryId;
+    }
+    
+    public Long getRoomId() {
+        return roomId;
+    }
+    
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+    
+    public Long getCategoryId() {
+        return categoryId;
+    }
+}
\ No newline at end of file
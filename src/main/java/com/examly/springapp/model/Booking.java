@@ -7,11 +7,23 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_booking_date_id", columnList = "bookingDate, bookingId"),
+    @Index(name = "idx_bookings_room_dates", columnList = "room_id, checkInDate, checkOutDate, status"),
+    @Index(name = "idx_bookings_status_booking_date", columnList = "status, bookingDate, bookingId"),
+    @Index(name = "idx_bookings_check_in_date", columnList = "checkInDate, checkOutDate, status"),
+    @Index(name = "idx_bookings_check_out_date", columnList = "checkOutDate, status")
+})
+@NamedEntityGraph(name = "Booking.guestAndRoom",
+        attributeNodes = { @NamedAttributeNode("guest"), @NamedAttributeNode(value = "room", subgraph = "room") },
+        subgraphs = @NamedSubgraph(name = "room", attributeNodes = @NamedAttributeNode("roomCategory")))
+@com.fasterxml.jackson.annotation.JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Booking {
     
+    // Pooled ids let Hibernate batch inserts, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long bookingId;
     
     @Column(nullable = false)
@@ -36,11 +48,11 @@ public class Booking {
     @Column
     private String specialRequests;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "guest_id", nullable = false)
     private Guest guest;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
     
@@ -0,0 +1,28 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+
+/**
+ * All-time number of bookings per status. Maintained by DashboardAggregates.
+ */
+@Entity
+@Table(name = "booking_status_counts")
+public class BookingStatusCount {
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Booking.BookingStatus status;
+    
+    @Column(nullable = false)
+    private long bookingCount;
+    
+    public BookingStatusCount() {}
+    
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+    
+    public long getBookingCount() {
+        return bookingCount;
+    }
+}
\ No newline at end of file
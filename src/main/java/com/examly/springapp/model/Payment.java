@@ -5,11 +5,27 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_payment_date_id", columnList = "paymentDate, paymentId"),
+    @Index(name = "idx_payments_booking_status", columnList = "booking_id, status, amount"),
+    @Index(name = "idx_payments_status_date", columnList = "status, paymentDate"),
+    @Index(name = "idx_payments_method_date", columnList = "paymentMethod, paymentDate"),
+    @Index(name = "idx_payments_transaction_id", columnList = "transactionId")
+})
+@NamedEntityGraph(name = "Payment.booking",
+        attributeNodes = @NamedAttributeNode(value = "booking", subgraph = "booking"),
+        subgraphs = {
+            @NamedSubgraph(name = "booking", attributeNodes = {
+                @NamedAttributeNode("guest"), @NamedAttributeNode(value = "room", subgraph = "room") }),
+            @NamedSubgraph(name = "room", attributeNodes = @NamedAttributeNode("roomCategory"))
+        })
+@com.fasterxml.jackson.annotation.JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Payment {
     
+    // Pooled ids let Hibernate batch inserts, which IDENTITY prevents
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     private Long paymentId;
     
     @Column(nullable = false)
@@ -35,7 +51,7 @@ public class Payment {
     @Column
     private String notes;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false)
     private Booking booking;
     
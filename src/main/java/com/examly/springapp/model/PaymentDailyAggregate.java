@@ -0,0 +1,93 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Number and sum of payments per day, method and status. Maintained by
+ * DashboardAggregates in the same transaction as every payment write.
+ */
+@Entity
+@Table(name = "payment_daily_aggregates")
+@IdClass(PaymentDailyAggregate.Key.class)
+public class PaymentDailyAggregate {
+    
+    @Id
+    @Column(nullable = false)
+    private LocalDate paymentDay;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Payment.PaymentMethod paymentMethod;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Payment.PaymentStatus status;
+    
+    @Column(nullable = false)
+    private long paymentCount;
+    
+    @Column(nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    public PaymentDailyAggregate() {}
+    
+    public LocalDate getPaymentDay() {
+        return paymentDay;
+    }
+    
+    public Payment.PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+    
+    public Payment.PaymentStatus getStatus() {
+        return status;
+    }
+    
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+    
+    public static class Key implements Serializable {
+    
+        private LocalDate paymentDay;
+    
+        private Payment.PaymentMethod paymentMethod;
+    
+        private Payment.PaymentStatus status;
+    
+        public Key() {}
+    
+        public Key(LocalDate paymentDay, Payment.PaymentMethod paymentMethod, Payment.PaymentStatus status) {
+            this.paymentDay = paymentDay;
+            this.paymentMethod = paymentMethod;
+            this.status = status;
+        }
+    
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(paymentDay, key.paymentDay) && paymentMethod == key.paymentMethod
+                    && status == key.status;
+        }
+    
+        @Override
+        public int hashCode() {
+            return Objects.hash(paymentDay, paymentMethod, status);
+        }
+    }
+}
\ No newline at end of file
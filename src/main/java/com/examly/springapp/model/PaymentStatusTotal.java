@@ -0,0 +1,37 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * All-time number and sum of payments per status, so dashboard totals are a
+ * primary key lookup. Maintained by DashboardAggregates.
+ */
+@Entity
+@Table(name = "payment_status_totals")
+public class PaymentStatusTotal {
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Payment.PaymentStatus status;
+    
+    @Column(nullable = false)
+    private long paymentCount;
+    
+    @Column(nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    public PaymentStatusTotal() {}
+    
+    public Payment.PaymentStatus getStatus() {
+        return status;
+    }
+    
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+    
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
\ No newline at end of file
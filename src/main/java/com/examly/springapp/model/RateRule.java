@@ -0,0 +1,109 @@
+package com.examly.springapp.model;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A date-ranged price adjustment, e.g. a holiday surcharge or an off-season discount.
+ * The rule applies to every night from startDate to endDate (both inclusive), for the
+ * rooms of one category or, when no category is set, for all rooms. Each matching
+ * rule turns a nightly rate into rate * multiplier + adjustment.
+ */
+@Entity
+@Table(name = "rate_rules")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class RateRule {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long ruleId;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(nullable = false)
+    private LocalDate startDate;
+    
+    @Column(nullable = false)
+    private LocalDate endDate;
+    
+    @Column(nullable = false)
+    private BigDecimal multiplier = BigDecimal.ONE;
+    
+    @Column(nullable = false)
+    private BigDecimal adjustment = BigDecimal.ZERO;
+    
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "category_id")
+    private RoomCategory roomCategory;
+    
+    public RateRule() {}
+    
+    public RateRule(String name, LocalDate startDate, LocalDate endDate, BigDecimal multiplier,
+                    BigDecimal adjustment, RoomCategory roomCategory) {
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.multiplier = multiplier;
+        this.adjustment = adjustment;
+        this.roomCategory = roomCategory;
+    }
+    
+    public Long getRuleId() {
+        return ruleId;
+    }
+    
+    public void setRuleId(Long ruleId) {
+        this.ruleId = ruleId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public BigDecimal getMultiplier() {
+        return multiplier;
+    }
+    
+    public void setMultiplier(BigDecimal multiplier) {
+        this.multiplier = multiplier;
+    }
+    
+    public BigDecimal getAdjustment() {
+        return adjustment;
+    }
+    
+    public void setAdjustment(BigDecimal adjustment) {
+        this.adjustment = adjustment;
+    }
+    
+    public RoomCategory getRoomCategory() {
+        return roomCategory;
+    }
+    
+    public void setRoomCategory(RoomCategory roomCategory) {
+        this.roomCategory = roomCategory;
+    }
+}
\ No newline at end of file
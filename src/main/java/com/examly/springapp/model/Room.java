@@ -2,12 +2,22 @@ package com.examly.springapp.model;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "rooms")
+@Table(name = "rooms", indexes = {
+    @Index(name = "idx_rooms_available_category", columnList = "available, category_id, roomNumber"),
+    @Index(name = "idx_rooms_price_per_night", columnList = "pricePerNight")
+})
+@NamedEntityGraph(name = "Room.roomCategory", attributeNodes = @NamedAttributeNode("roomCategory"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Room {
     
     @Id
@@ -32,7 +42,11 @@ public class Room {
     @Column
     private LocalDateTime lastPriceUpdate;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Until then the multiplier was set by hand and DynamicPricingJob leaves it alone
+    @Column
+    private LocalDateTime manualMultiplierUntil;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private RoomCategory roomCategory;
     
@@ -107,6 +121,14 @@ public class Room {
         this.lastPriceUpdate = lastPriceUpdate;
     }
     
+    public LocalDateTime getManualMultiplierUntil() {
+        return manualMultiplierUntil;
+    }
+    
+    public void setManualMultiplierUntil(LocalDateTime manualMultiplierUntil) {
+        this.manualMultiplierUntil = manualMultiplierUntil;
+    }
+    
     public RoomCategory getRoomCategory() {
         return roomCategory;
     }
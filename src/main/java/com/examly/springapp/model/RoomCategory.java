@@ -2,10 +2,16 @@ package com.examly.springapp.model;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "room_categories")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class RoomCategory {
     
     @Id
@@ -22,6 +28,10 @@ public class RoomCategory {
     @JsonIgnore
     private List<Room> rooms;
     
+    @OneToMany(mappedBy = "roomCategory", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonIgnore
+    private List<RateRule> rateRules;
+    
     public RoomCategory() {}
     
     public RoomCategory(String categoryName) {
@@ -64,4 +74,12 @@ public class RoomCategory {
     public void setRooms(List<Room> rooms) {
         this.rooms = rooms;
     }
+    
+    public List<RateRule> getRateRules() {
+        return rateRules;
+    }
+    
+    public void setRateRules(List<RateRule> rateRules) {
+        this.rateRules = rateRules;
+    }
 }
\ No newline at end of file
@@ -1,44 +1,171 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.BookingStay;
+import com.examly.springapp.dto.CancellationCounts;
+import com.examly.springapp.dto.CategoryOccupancy;
+import com.examly.springapp.dto.NightlyOccupancy;
 import com.examly.springapp.model.Booking;
 import com.examly.springapp.model.Guest;
 import com.examly.springapp.model.Room;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookingRepo extends JpaRepository<Booking, Long> {
     
+    @Override
+    @EntityGraph("Booking.guestAndRoom")
+    List<Booking> findAll();
+    
+    @Override
+    @EntityGraph("Booking.guestAndRoom")
+    Page<Booking> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph("Booking.guestAndRoom")
+    Optional<Booking> findById(Long bookingId);
+    
+    @EntityGraph("Booking.guestAndRoom")
     List<Booking> findByGuest(Guest guest);
     
+    @EntityGraph("Booking.guestAndRoom")
     List<Booking> findByRoom(Room room);
     
+    @EntityGraph("Booking.guestAndRoom")
     List<Booking> findByStatus(Booking.BookingStatus status);
     
+    @EntityGraph("Booking.guestAndRoom")
     @Query("SELECT b FROM Booking b WHERE b.checkInDate >= :startDate AND b.checkOutDate <= :endDate")
     List<Booking> findBookingsByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    @EntityGraph("Booking.guestAndRoom")
     @Query("SELECT b FROM Booking b WHERE b.room = :room AND " +
            "((b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn) AND b.status != 'CANCELLED')")
     List<Booking> findConflictingBookings(@Param("room") Room room, 
                                         @Param("checkIn") LocalDate checkIn, 
                                         @Param("checkOut") LocalDate checkOut);
     
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b WHERE b.room.roomId = :roomId AND " +
+           "b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn AND b.status != 'CANCELLED' AND " +
+           "(:excludeBookingId IS NULL OR b.bookingId != :excludeBookingId)")
+    boolean existsConflictingBooking(@Param("roomId") Long roomId,
+                                     @Param("checkIn") LocalDate checkIn,
+                                     @Param("checkOut") LocalDate checkOut,
+                                     @Param("excludeBookingId") Long excludeBookingId);
+    
+    @Query("SELECT b.bookingId AS bookingId, b.room.roomId AS roomId, b.checkInDate AS checkInDate, " +
+           "b.checkOutDate AS checkOutDate FROM Booking b WHERE b.checkOutDate >= :fromDate AND b.status != 'CANCELLED'")
+    List<BookingStay> findActiveStaysEndingOnOrAfter(@Param("fromDate") LocalDate fromDate);
+    
+    @Query("SELECT b.bookingId AS bookingId, b.room.roomId AS roomId, b.checkInDate AS checkInDate, " +
+           "b.checkOutDate AS checkOutDate FROM Booking b WHERE b.room.roomId IN :roomIds AND " +
+           "b.checkInDate <= :toDate AND b.checkOutDate >= :fromDate AND b.status != 'CANCELLED'")
+    List<BookingStay> findActiveStaysForRooms(@Param("roomIds") Collection<Long> roomIds,
+                                              @Param("fromDate") LocalDate fromDate,
+                                              @Param("toDate") LocalDate toDate);
+    
+    @Query("SELECT b.bookingId FROM Booking b WHERE b.bookingId IN :bookingIds")
+    List<Long> findExistingIds(@Param("bookingIds") Collection<Long> bookingIds);
+    
+    @Query("SELECT b.bookingId FROM Booking b WHERE b.guest.guestId = :guestId")
+    List<Long> findBookingIdsByGuestId(@Param("guestId") Long guestId);
+    
+    @Query("SELECT b.bookingId FROM Booking b WHERE b.room.roomId = :roomId")
+    List<Long> findBookingIdsByRoomId(@Param("roomId") Long roomId);
+    
+    @Query("SELECT b.bookingId FROM Booking b WHERE b.room.roomCategory.categoryId = :categoryId")
+    List<Long> findBookingIdsByCategoryId(@Param("categoryId") Long categoryId);
+    
+    @EntityGraph("Booking.guestAndRoom")
     @Query("SELECT b FROM Booking b WHERE b.guest.guestId = :guestId")
     List<Booking> findByGuestId(@Param("guestId") Long guestId);
     
+    @EntityGraph("Booking.guestAndRoom")
     @Query("SELECT b FROM Booking b WHERE b.room.roomId = :roomId")
     List<Booking> findByRoomId(@Param("roomId") Long roomId);
     
+    @EntityGraph("Booking.guestAndRoom")
     Page<Booking> findByStatus(Booking.BookingStatus status, Pageable pageable);
     
+    @EntityGraph("Booking.guestAndRoom")
+    @Query("SELECT b FROM Booking b ORDER BY b.bookingDate DESC, b.bookingId DESC")
+    Slice<Booking> findLatestBookings(Pageable pageable);
+    
+    @EntityGraph("Booking.guestAndRoom")
+    @Query("SELECT b FROM Booking b WHERE b.bookingDate <= :bookingDate AND " +
+           "(b.bookingDate < :bookingDate OR b.bookingId < :bookingId) " +
+           "ORDER BY b.bookingDate DESC, b.bookingId DESC")
+    Slice<Booking> findBookingsBefore(@Param("bookingDate") LocalDateTime bookingDate,
+                                      @Param("bookingId") Long bookingId,
+                                      Pageable pageable);
+    
+    @EntityGraph("Booking.guestAndRoom")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Booking b ORDER BY b.bookingId")
+    Stream<Booking> streamAll();
+    
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = :status")
     long countByStatus(@Param("status") Booking.BookingStatus status);
+    
+    // Room-nights booked inside [windowStart, windowEnd) per category; check-out nights are not counted
+    @Query(value = "SELECT r.category_id AS categoryId, COUNT(DISTINCT r.room_id) AS roomCount, " +
+                   "COALESCE(SUM(DATEDIFF(LEAST(b.check_out_date, :windowEnd), GREATEST(b.check_in_date, :windowStart))), 0) AS bookedNights " +
+                   "FROM rooms r LEFT JOIN bookings b ON b.room_id = r.room_id AND b.status <> 'CANCELLED' " +
+                   "AND b.check_in_date < :windowEnd AND b.check_out_date > :windowStart " +
+                   "WHERE (:allCategories = TRUE OR r.category_id IN (:categoryIds)) " +
+                   "GROUP BY r.category_id", nativeQuery = true)
+    List<CategoryOccupancy> findCategoryOccupancy(@Param("windowStart") LocalDate windowStart,
+                                                  @Param("windowEnd") LocalDate windowEnd,
+                                                  @Param("allCategories") boolean allCategories,
+                                                  @Param("categoryIds") Collection<Long> categoryIds);
+    
+    // One row per night of [fromDate, toDate] for one category, nights without bookings included.
+    // A night is occupied from check-in up to, not including, check-out. Each stay adds one room and
+    // its nightly amount on its first night in range and takes them off on check-out; the running
+    // total of those changes is the occupancy, so every stay is read once instead of once per night.
+    @Query(value = "WITH RECURSIVE nights (night) AS (" +
+                   "SELECT CAST(:fromDate AS DATE) UNION ALL " +
+                   "SELECT night + INTERVAL 1 DAY FROM nights WHERE night < :toDate), " +
+                   "stays AS (" +
+                   "SELECT b.check_in_date, b.check_out_date, " +
+                   "b.total_amount / GREATEST(DATEDIFF(b.check_out_date, b.check_in_date), 1) AS nightly_amount " +
+                   "FROM bookings b JOIN rooms r ON r.room_id = b.room_id " +
+                   "WHERE r.category_id = :categoryId AND b.status <> 'CANCELLED' " +
+                   "AND b.check_in_date <= :toDate AND b.check_out_date > :fromDate), " +
+                   "changes (night, rooms, revenue) AS (" +
+                   "SELECT c.night, SUM(c.rooms), SUM(c.revenue) FROM (" +
+                   "SELECT GREATEST(s.check_in_date, CAST(:fromDate AS DATE)) AS night, 1 AS rooms, s.nightly_amount AS revenue FROM stays s " +
+                   "UNION ALL " +
+                   "SELECT s.check_out_date, -1, -s.nightly_amount FROM stays s WHERE s.check_out_date <= :toDate) c " +
+                   "GROUP BY c.night) " +
+                   "SELECT n.night AS night, SUM(COALESCE(c.rooms, 0)) OVER (ORDER BY n.night) AS occupiedRooms, " +
+                   "SUM(COALESCE(c.revenue, 0)) OVER (ORDER BY n.night) AS roomRevenue " +
+                   "FROM nights n LEFT JOIN changes c ON c.night = n.night " +
+                   "ORDER BY n.night", nativeQuery = true)
+    List<NightlyOccupancy> findNightlyOccupancy(@Param("categoryId") Long categoryId,
+                                                @Param("fromDate") LocalDate fromDate,
+                                                @Param("toDate") LocalDate toDate);
+    
+    @Query("SELECT COUNT(b) AS totalBookings, " +
+           "COALESCE(SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END), 0) AS cancelledBookings " +
+           "FROM Booking b WHERE b.checkInDate BETWEEN :fromDate AND :toDate")
+    CancellationCounts findCancellationCounts(@Param("fromDate") LocalDate fromDate,
+                                              @Param("toDate") LocalDate toDate);
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.Booking;
+import com.examly.springapp.model.BookingStatusCount;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface BookingStatusCountRepo extends JpaRepository<BookingStatusCount, Booking.BookingStatus> {
+    
+    // A negative count subtracts
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "booking_status_counts"))
+    @Query(value = "INSERT INTO booking_status_counts (status, booking_count) VALUES (:status, :count) " +
+                   "ON DUPLICATE KEY UPDATE booking_count = booking_count + VALUES(booking_count)", nativeQuery = true)
+    int addDelta(@Param("status") String status, @Param("count") long count);
+    
+    // Must run before the bookings are deleted
+    @Modifying
+    @QueryHints({ @QueryHint(name = HINT_NATIVE_SPACES, value = "booking_status_counts"),
+                  @QueryHint(name = HINT_NATIVE_SPACES, value = "bookings") })
+    @Query(value = "UPDATE booking_status_counts c JOIN (" +
+                   "SELECT b.status, COUNT(*) AS booking_count FROM bookings b " +
+                   "WHERE b.booking_id IN (:bookingIds) GROUP BY b.status) d ON c.status = d.status " +
+                   "SET c.booking_count = c.booking_count - d.booking_count", nativeQuery = true)
+    int subtractBookings(@Param("bookingIds") Collection<Long> bookingIds);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "booking_status_counts"))
+    @Query(value = "DELETE FROM booking_status_counts", nativeQuery = true)
+    int deleteAllRows();
+    
+    @Modifying
+    @QueryHints({ @QueryHint(name = HINT_NATIVE_SPACES, value = "booking_status_counts"),
+                  @QueryHint(name = HINT_NATIVE_SPACES, value = "bookings") })
+    @Query(value = "INSERT INTO booking_status_counts (status, booking_count) " +
+                   "SELECT status, COUNT(*) FROM bookings GROUP BY status", nativeQuery = true)
+    int rebuildFromBookings();
+}
\ No newline at end of file
@@ -1,15 +1,20 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.GuestSearchFields;
 import com.examly.springapp.model.Guest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface GuestRepo extends JpaRepository<Guest, Long> {
@@ -22,14 +27,23 @@ public interface GuestRepo extends JpaRepository<Guest, Long> {
     
     List<Guest> findByPhoneContaining(String phone);
     
-    List<Guest> findByNameContainingIgnoreCase(String name);
-    
     boolean existsByEmail(String email);
     
     boolean existsByPhone(String phone);
     
-    @Query("SELECT g FROM Guest g WHERE g.name LIKE %:name% OR g.email LIKE %:email%")
-    Page<Guest> findByNameOrEmail(@Param("name") String name, @Param("email") String email, Pageable pageable);
+    // Emails and phones already taken, as [email, phone] pairs; one round trip per import chunk
+    @Query("SELECT g.email, g.phone FROM Guest g WHERE g.email IN :emails OR g.phone IN :phones")
+    List<Object[]> findExistingContacts(@Param("emails") Collection<String> emails,
+                                        @Param("phones") Collection<String> phones);
+    
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT g FROM Guest g ORDER BY g.guestId")
+    Stream<Guest> streamAll();
+    
+    // Rebuild source of GuestSearchIndex; a projection keeps a million guests out of the persistence context
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT g.guestId AS guestId, g.name AS name, g.email AS email, g.phone AS phone FROM Guest g")
+    Stream<GuestSearchFields> streamSearchFields();
     
     @Query("SELECT COUNT(g) FROM Guest g")
     long countAllGuests();
@@ -0,0 +1,72 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.dto.DailyRevenue;
+import com.examly.springapp.model.Payment;
+import com.examly.springapp.model.PaymentDailyAggregate;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface PaymentDailyAggregateRepo extends JpaRepository<PaymentDailyAggregate, PaymentDailyAggregate.Key> {
+    
+    @Query("SELECT a.paymentDay AS day, a.paymentMethod AS paymentMethod, a.paymentCount AS paymentCount, " +
+           "a.totalAmount AS totalAmount FROM PaymentDailyAggregate a " +
+           "WHERE a.status = :status AND a.paymentDay BETWEEN :fromDay AND :toDay AND a.paymentCount > 0 " +
+           "ORDER BY a.paymentDay, a.paymentMethod")
+    List<DailyRevenue> findDailyRevenue(@Param("status") Payment.PaymentStatus status,
+                                        @Param("fromDay") LocalDate fromDay,
+                                        @Param("toDay") LocalDate toDay);
+    
+    // Negative count and amount subtract
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "payment_daily_aggregates"))
+    @Query(value = "INSERT INTO payment_daily_aggregates (payment_day, payment_method, status, payment_count, total_amount) " +
+                   "VALUES (DATE(:paymentDate), :paymentMethod, :status, :count, :amount) " +
+                   "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), " +
+                   "total_amount = total_amount + VALUES(total_amount)", nativeQuery = true)
+    int addDelta(@Param("paymentDate") LocalDateTime paymentDate,
+                 @Param("paymentMethod") String paymentMethod,
+                 @Param("status") String status,
+                 @Param("count") long count,
+                 @Param("amount") BigDecimal amount);
+    
+    // Must run before the bookings and their payments are deleted
+    @Modifying
+    @QueryHints({ @QueryHint(name = HINT_NATIVE_SPACES, value = "payment_daily_aggregates"),
+                  @QueryHint(name = HINT_NATIVE_SPACES, value = "payments") })
+    @Query(value = "UPDATE payment_daily_aggregates a JOIN (" +
+                   "SELECT DATE(p.payment_date) AS payment_day, p.payment_method, p.status, " +
+                   "COUNT(*) AS payment_count, SUM(p.amount) AS total_amount FROM payments p " +
+                   "WHERE p.booking_id IN (:bookingIds) " +
+                   "GROUP BY DATE(p.payment_date), p.payment_method, p.status) d " +
+                   "ON a.payment_day = d.payment_day AND a.payment_method = d.payment_method AND a.status = d.status " +
+                   "SET a.payment_count = a.payment_count - d.payment_count, " +
+                   "a.total_amount = a.total_amount - d.total_amount", nativeQuery = true)
+    int subtractBookings(@Param("bookingIds") Collection<Long> bookingIds);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "payment_daily_aggregates"))
+    @Query(value = "DELETE FROM payment_daily_aggregates", nativeQuery = true)
+    int deleteAllRows();
+    
+    @Modifying
+    @QueryHints({ @QueryHint(name = HINT_NATIVE_SPACES, value = "payment_daily_aggregates"),
+                  @QueryHint(name = HINT_NATIVE_SPACES, value = "payments") })
+    @Query(value = "INSERT INTO payment_daily_aggregates (payment_day, payment_method, status, payment_count, total_amount) " +
+                   "SELECT DATE(payment_date), payment_method, status, COUNT(*), SUM(amount) FROM payments " +
+                   "GROUP BY DATE(payment_date), payment_method, status", nativeQuery = true)
+    int rebuildFromPayments();
+}
\ No newline at end of file
@@ -2,10 +2,14 @@ package com.examly.springapp.repository;
 
 import com.examly.springapp.model.Booking;
 import com.examly.springapp.model.Payment;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,22 +17,43 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface PaymentRepo extends JpaRepository<Payment, Long> {
     
+    @Override
+    @EntityGraph("Payment.booking")
+    List<Payment> findAll();
+    
+    @Override
+    @EntityGraph("Payment.booking")
+    Page<Payment> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph("Payment.booking")
+    Optional<Payment> findById(Long paymentId);
+    
+    @EntityGraph("Payment.booking")
     List<Payment> findByBooking(Booking booking);
     
+    @EntityGraph("Payment.booking")
     List<Payment> findByStatus(Payment.PaymentStatus status);
     
+    @EntityGraph("Payment.booking")
     List<Payment> findByPaymentMethod(Payment.PaymentMethod paymentMethod);
     
+    @EntityGraph("Payment.booking")
     Optional<Payment> findByTransactionId(String transactionId);
     
+    @EntityGraph("Payment.booking")
     @Query("SELECT p FROM Payment p WHERE p.paymentDate BETWEEN :startDate AND :endDate")
     List<Payment> findPaymentsByDateRange(@Param("startDate") LocalDateTime startDate, 
                                         @Param("endDate") LocalDateTime endDate);
     
+    @EntityGraph("Payment.booking")
     @Query("SELECT p FROM Payment p WHERE p.booking.bookingId = :bookingId")
     List<Payment> findByBookingId(@Param("bookingId") Long bookingId);
     
@@ -38,8 +63,26 @@ public interface PaymentRepo extends JpaRepository<Payment, Long> {
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.booking = :booking AND p.status = 'COMPLETED'")
     BigDecimal getTotalPaidAmountForBooking(@Param("booking") Booking booking);
     
+    @EntityGraph("Payment.booking")
     Page<Payment> findByStatus(Payment.PaymentStatus status, Pageable pageable);
     
+    @EntityGraph("Payment.booking")
+    @Query("SELECT p FROM Payment p ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    Slice<Payment> findLatestPayments(Pageable pageable);
+    
+    @EntityGraph("Payment.booking")
+    @Query("SELECT p FROM Payment p WHERE p.paymentDate <= :paymentDate AND " +
+           "(p.paymentDate < :paymentDate OR p.paymentId < :paymentId) " +
+           "ORDER BY p.paymentDate DESC, p.paymentId DESC")
+    Slice<Payment> findPaymentsBefore(@Param("paymentDate") LocalDateTime paymentDate,
+                                      @Param("paymentId") Long paymentId,
+                                      Pageable pageable);
+    
+    @EntityGraph("Payment.booking")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Payment p ORDER BY p.paymentId")
+    Stream<Payment> streamAll();
+    
     @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = :status")
     long countByStatus(@Param("status") Payment.PaymentStatus status);
 }
\ No newline at end of file
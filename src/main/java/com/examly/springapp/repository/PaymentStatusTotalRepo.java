@@ -0,0 +1,52 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.Payment;
+import com.examly.springapp.model.PaymentStatusTotal;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface PaymentStatusTotalRepo extends JpaRepository<PaymentStatusTotal, Payment.PaymentStatus> {
+    
+    // Negative count and amount subtract
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "payment_status_totals"))
+    @Query(value = "INSERT INTO payment_status_totals (status, payment_count, total_amount) " +
+                   "VALUES (:status, :count, :amount) " +
+                   "ON DUPLICATE KEY UPDATE payment_count = payment_count + VALUES(payment_count), " +
+                   "total_amount = total_amount + VALUES(total_amount)", nativeQuery = true)
+    int addDelta(@Param("status") String status, @Param("count") long count, @Param("amount") BigDecimal amount);
+    
+    // Must run before the bookings and their payments are deleted
+    @Modifying
+    @QueryHints({ @QueryHint(name = HINT_NATIVE_SPACES, value = "payment_status_totals"),
+                  @QueryHint(name = HINT_NATIVE_SPACES, value = "payments") })
+    @Query(value = "UPDATE payment_status_totals t JOIN (" +
+                   "SELECT p.status, COUNT(*) AS payment_count, SUM(p.amount) AS total_amount FROM payments p " +
+                   "WHERE p.booking_id IN (:bookingIds) GROUP BY p.status) d ON t.status = d.status " +
+                   "SET t.payment_count = t.payment_count - d.payment_count, " +
+                   "t.total_amount = t.total_amount - d.total_amount", nativeQuery = true)
+    int subtractBookings(@Param("bookingIds") Collection<Long> bookingIds);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "payment_status_totals"))
+    @Query(value = "DELETE FROM payment_status_totals", nativeQuery = true)
+    int deleteAllRows();
+    
+    @Modifying
+    @QueryHints({ @QueryHint(name = HINT_NATIVE_SPACES, value = "payment_status_totals"),
+                  @QueryHint(name = HINT_NATIVE_SPACES, value = "payments") })
+    @Query(value = "INSERT INTO payment_status_totals (status, payment_count, total_amount) " +
+                   "SELECT status, COUNT(*), SUM(amount) FROM payments GROUP BY status", nativeQuery = true)
+    int rebuildFromPayments();
+}
\ No newline at end of file
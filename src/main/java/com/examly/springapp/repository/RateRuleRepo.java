@@ -0,0 +1,15 @@
+package com.examly.springapp.repository;
+
+import com.examly.springapp.model.RateRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RateRuleRepo extends JpaRepository<RateRule, Long> {
+    
+    @Query("SELECT r FROM RateRule r LEFT JOIN FETCH r.roomCategory ORDER BY r.startDate, r.ruleId")
+    List<RateRule> findAllOrderByStartDate();
+}
\ No newline at end of file
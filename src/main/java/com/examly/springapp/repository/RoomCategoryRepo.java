@@ -1,20 +1,28 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.CategoryRoomCount;
 import com.examly.springapp.model.RoomCategory;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface RoomCategoryRepo extends JpaRepository<RoomCategory, Long> {
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<RoomCategory> findByCategoryName(String categoryName);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByCategoryName(String categoryName);
     
     @Query("SELECT rc FROM RoomCategory rc WHERE rc.categoryName LIKE %:name%")
@@ -22,4 +30,8 @@ public interface RoomCategoryRepo extends JpaRepository<RoomCategory, Long> {
     
     @Query("SELECT COUNT(rc) FROM RoomCategory rc")
     long countAllCategories();
+    
+    @Query("SELECT rc.categoryId AS categoryId, rc.categoryName AS categoryName, COUNT(r) AS roomCount " +
+           "FROM RoomCategory rc LEFT JOIN rc.rooms r GROUP BY rc.categoryId, rc.categoryName ORDER BY rc.categoryName")
+    List<CategoryRoomCount> findRoomCounts();
 }
\ No newline at end of file
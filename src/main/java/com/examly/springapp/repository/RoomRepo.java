@@ -1,39 +1,141 @@
 package com.examly.springapp.repository;
 
+import com.examly.springapp.dto.RoomSuggestion;
 import com.examly.springapp.model.Room;
 import com.examly.springapp.model.RoomCategory;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface RoomRepo extends JpaRepository<Room, Long> {
     
-    Optional<Room> findByRoomNumber(String roomNumber);
+    @Override
+    @EntityGraph("Room.roomCategory")
+    List<Room> findAll();
     
-    List<Room> findByRoomNumberContaining(String roomNumber);
+    @Override
+    @EntityGraph("Room.roomCategory")
+    Page<Room> findAll(Pageable pageable);
     
+    @Override
+    @EntityGraph("Room.roomCategory")
+    Optional<Room> findById(Long roomId);
+    
+    @EntityGraph("Room.roomCategory")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<Room> findByRoomNumber(String roomNumber);
+    
+    @EntityGraph("Room.roomCategory")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Room> findByAvailable(Boolean available);
     
+    @EntityGraph("Room.roomCategory")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Room> findByRoomCategory(RoomCategory roomCategory);
     
+    @EntityGraph("Room.roomCategory")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Room r WHERE r.roomCategory.categoryName = :categoryName")
     List<Room> findByRoomCategoryCategoryName(@Param("categoryName") String categoryName);
     
+    @EntityGraph("Room.roomCategory")
     @Query("SELECT r FROM Room r WHERE r.pricePerNight BETWEEN :minPrice AND :maxPrice")
     List<Room> findByPriceRange(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice);
     
+    @EntityGraph("Room.roomCategory")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Room r WHERE r.available = true AND r.roomCategory.categoryName = :categoryName")
     List<Room> findAvailableRoomsByCategory(@Param("categoryName") String categoryName);
     
+    @Query("SELECT r FROM Room r JOIN FETCH r.roomCategory c WHERE r.available = true " +
+           "AND (:categoryName IS NULL OR c.categoryName = :categoryName) " +
+           "AND NOT EXISTS (SELECT b FROM Booking b WHERE b.room = r AND " +
+           "b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn AND b.status != 'CANCELLED') " +
+           "ORDER BY r.roomNumber")
+    List<Room> findBookableRooms(@Param("checkIn") LocalDate checkIn,
+                                 @Param("checkOut") LocalDate checkOut,
+                                 @Param("categoryName") String categoryName);
+    
+    @EntityGraph("Room.roomCategory")
+    @Query("SELECT r FROM Room r ORDER BY r.roomNumber")
+    Slice<Room> findFirstRoomsByNumber(Pageable pageable);
+    
+    @EntityGraph("Room.roomCategory")
+    @Query("SELECT r FROM Room r WHERE r.roomNumber > :roomNumber ORDER BY r.roomNumber")
+    Slice<Room> findRoomsAfterNumber(@Param("roomNumber") String roomNumber, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByRoomNumber(String roomNumber);
     
+    // Startup load of RoomNumberIndex
+    @Query("SELECT new com.examly.springapp.dto.RoomSuggestion(r.roomId, r.roomNumber, r.roomCategory.categoryId) " +
+           "FROM Room r")
+    List<RoomSuggestion> findRoomSuggestions();
+    
+    @EntityGraph("Room.roomCategory")
     Page<Room> findByAvailable(Boolean available, Pageable pageable);
+    
+    // Bulk pricing: null arguments keep the current value of the column
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Room r SET r.pricePerNight = COALESCE(:pricePerNight, r.pricePerNight), " +
+           "r.seasonalRate = COALESCE(:seasonalRate, r.seasonalRate), " +
+           "r.dynamicPriceMultiplier = COALESCE(:multiplier, r.dynamicPriceMultiplier), " +
+           "r.manualMultiplierUntil = COALESCE(:manualUntil, r.manualMultiplierUntil), " +
+           "r.lastPriceUpdate = :now " +
+           "WHERE r.roomCategory IN (SELECT c FROM RoomCategory c WHERE c.categoryName = :categoryName)")
+    int updatePricingByCategory(@Param("categoryName") String categoryName,
+                                @Param("pricePerNight") BigDecimal pricePerNight,
+                                @Param("seasonalRate") BigDecimal seasonalRate,
+                                @Param("multiplier") BigDecimal multiplier,
+                                @Param("manualUntil") LocalDateTime manualUntil,
+                                @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Room r SET r.pricePerNight = COALESCE(:pricePerNight, r.pricePerNight), " +
+           "r.seasonalRate = COALESCE(:seasonalRate, r.seasonalRate), " +
+           "r.dynamicPriceMultiplier = COALESCE(:multiplier, r.dynamicPriceMultiplier), " +
+           "r.manualMultiplierUntil = COALESCE(:manualUntil, r.manualMultiplierUntil), " +
+           "r.lastPriceUpdate = :now " +
+           "WHERE r.roomId IN :roomIds")
+    int updatePricingByIds(@Param("roomIds") Collection<Long> roomIds,
+                           @Param("pricePerNight") BigDecimal pricePerNight,
+                           @Param("seasonalRate") BigDecimal seasonalRate,
+                           @Param("multiplier") BigDecimal multiplier,
+                           @Param("manualUntil") LocalDateTime manualUntil,
+                           @Param("now") LocalDateTime now);
+    
+    // Rooms whose multiplier was set by hand keep it until their manual override expires
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Room r SET r.dynamicPriceMultiplier = :multiplier, r.lastPriceUpdate = :now " +
+           "WHERE r.roomCategory IN (SELECT c FROM RoomCategory c WHERE c.categoryId IN :categoryIds) " +
+           "AND (r.dynamicPriceMultiplier IS NULL OR r.dynamicPriceMultiplier <> :multiplier) " +
+           "AND (r.manualMultiplierUntil IS NULL OR r.manualMultiplierUntil <= :now)")
+    int updateDynamicMultiplierByCategories(@Param("categoryIds") Collection<Long> categoryIds,
+                                            @Param("multiplier") BigDecimal multiplier,
+                                            @Param("now") LocalDateTime now);
+    
+    @EntityGraph("Room.roomCategory")
+    @Query("SELECT r FROM Room r WHERE r.roomCategory IN (SELECT c FROM RoomCategory c WHERE c.categoryId IN :categoryIds)")
+    List<Room> findByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+    
+    @Query("SELECT r.roomId FROM Room r WHERE r.roomCategory.categoryId = :categoryId")
+    List<Long> findRoomIdsByCategoryId(@Param("categoryId") Long categoryId);
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.repository.BookingRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rebuilds the dashboard aggregates from the payments and bookings tables nightly,
+ * and once at startup when they are still empty but bookings exist (first deployment
+ * over an existing database).
+ *
+ * The rebuild scans both tables in full, so it runs with its own transaction timeout,
+ * app.aggregates.rebuild-timeout-seconds, instead of spring.transaction.default-timeout,
+ * which is sized for requests and would cut the rebuild short on a large database.
+ */
+@Component
+public class AggregateReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregateReconciliationJob.class);
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.aggregates.rebuild-timeout-seconds:600}")
+    private int rebuildTimeoutSeconds;
+
+    private TransactionTemplate rebuildTransaction;
+
+    @PostConstruct
+    public void init() {
+        rebuildTransaction = new TransactionTemplate(transactionManager);
+        rebuildTransaction.setTimeout(rebuildTimeoutSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (dashboardAggregates.isEmpty() && bookingRepo.count() > 0) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${app.aggregates.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        rebuildTransaction.executeWithoutResult(status -> dashboardAggregates.rebuild());
+        logger.info("Rebuilt dashboard aggregates in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
\ No newline at end of file
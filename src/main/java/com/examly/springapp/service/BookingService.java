@@ -1,12 +1,15 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.BulkImportResult;
 import com.examly.springapp.model.Booking;
 import com.examly.springapp.model.Guest;
 import com.examly.springapp.model.Room;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,5 +47,9 @@ public interface BookingService {
     
     Page<Booking> getBookingsByStatus(Booking.BookingStatus status, Pageable pageable);
     
+    Slice<Booking> getBookingsBefore(LocalDateTime bookingDate, Long bookingId, int limit);
+    
     long getBookingsCountByStatus(Booking.BookingStatus status);
+    
+    BulkImportResult importBookings(List<Booking> bookings);
 }
\ No newline at end of file
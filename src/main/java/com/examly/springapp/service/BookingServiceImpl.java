@@ -1,22 +1,39 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.BookingStay;
+import com.examly.springapp.dto.BulkImportResult;
 import com.examly.springapp.model.Booking;
 import com.examly.springapp.model.Guest;
 import com.examly.springapp.model.Room;
 import com.examly.springapp.repository.BookingRepo;
 import com.examly.springapp.repository.GuestRepo;
 import com.examly.springapp.repository.RoomRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -30,8 +47,36 @@ public class BookingServiceImpl implements BookingService {
 
     @Autowired
     private GuestRepo guestRepo;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomBookingLocks roomBookingLocks;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private DynamicPricingJob dynamicPricingJob;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:500}")
+    private int importChunkSize;
+    
+    @Value("${app.import.booking-lock-stripes:32}")
+    private int importLockStripes;
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Booking createBooking(Booking booking) {
         // Validate booking dates
         if (booking.getCheckInDate().isAfter(booking.getCheckOutDate())) {
@@ -42,6 +87,14 @@ public class BookingServiceImpl implements BookingService {
             throw new RuntimeException("Check-in date cannot be in the past");
         }
 
+        // Serialise bookings for this room: the lock is taken before the transaction begins
+        // (waiting holds no connection) and released after commit, so the availability check
+        // sees every booking committed before it
+        return roomBookingLocks.callLocked(List.of(booking.getRoom().getRoomId()),
+                () -> transactionTemplate.execute(status -> saveNewBooking(booking)));
+    }
+    
+    private Booking saveNewBooking(Booking booking) {
         // Fetch Room and Guest from DB
         Room room = roomRepo.findById(booking.getRoom().getRoomId())
                 .orElseThrow(() -> new RuntimeException("Room not found"));
@@ -56,16 +109,15 @@ public class BookingServiceImpl implements BookingService {
             throw new RuntimeException("Room is not available for the selected dates");
         }
         
-        // Calculate total amount based on room's current price and number of nights
-        long numberOfNights = ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
-        if (numberOfNights <= 0) {
-            numberOfNights = 1; // Minimum one night
-        }
-        
-        booking.setTotalAmount(room.getCurrentPrice().multiply(java.math.BigDecimal.valueOf(numberOfNights)));
+        // Sum of the room's nightly rates over the stay (minimum one night)
+        booking.setTotalAmount(pricingEngine.quote(room, booking.getCheckInDate(), booking.getCheckOutDate()).getTotalAmount());
         booking.setBookingDate(LocalDateTime.now());
         
-        return bookingRepo.save(booking);
+        Booking savedBooking = bookingRepo.save(booking);
+        dashboardAggregates.bookingAdded(savedBooking.getStatus());
+        syncAvailabilityIndex(savedBooking);
+        markOccupancyChanged(room);
+        return savedBooking;
     }
     
     @Override
@@ -81,10 +133,21 @@ public class BookingServiceImpl implements BookingService {
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Booking updateBooking(Long bookingId, Booking booking) {
+        // Locks the new room, when one is given, around the transaction as createBooking does
+        List<Long> roomIds = booking.getRoom() != null && booking.getRoom().getRoomId() != null
+                ? List.of(booking.getRoom().getRoomId()) : List.of();
+        return roomBookingLocks.callLocked(roomIds,
+                () -> transactionTemplate.execute(status -> applyBookingUpdate(bookingId, booking)));
+    }
+    
+    private Booking applyBookingUpdate(Long bookingId, Booking booking) {
         Optional<Booking> existingBooking = bookingRepo.findById(bookingId);
         if (existingBooking.isPresent()) {
             Booking bookingToUpdate = existingBooking.get();
+            Booking.BookingStatus previousStatus = bookingToUpdate.getStatus();
+            markOccupancyChanged(bookingToUpdate.getRoom());
             
             // Validate new dates if they are being changed
             if (!bookingToUpdate.getCheckInDate().equals(booking.getCheckInDate()) || 
@@ -96,11 +159,8 @@ public class BookingServiceImpl implements BookingService {
                 }
                 
                 // Check availability for new dates/room (excluding current booking)
-                List<Booking> conflictingBookings = getConflictingBookings(booking.getRoom(), 
-                    booking.getCheckInDate(), booking.getCheckOutDate());
-                conflictingBookings.removeIf(b -> b.getBookingId().equals(bookingId));
-                
-                if (!conflictingBookings.isEmpty()) {
+                if (hasConflictingBooking(booking.getRoom().getRoomId(), booking.getCheckInDate(), 
+                        booking.getCheckOutDate(), bookingId)) {
                     throw new RuntimeException("Room is not available for the selected dates");
                 }
             }
@@ -124,23 +184,27 @@ public class BookingServiceImpl implements BookingService {
             bookingToUpdate.setStatus(booking.getStatus());
             
             // Recalculate total amount using the room from DB (bookingToUpdate.getRoom())
-            long numberOfNights = ChronoUnit.DAYS.between(bookingToUpdate.getCheckInDate(), bookingToUpdate.getCheckOutDate());
-            if (numberOfNights <= 0) {
-                numberOfNights = 1;
-            }
-            bookingToUpdate.setTotalAmount(bookingToUpdate.getRoom().getCurrentPrice().multiply(java.math.BigDecimal.valueOf(numberOfNights)));
+            bookingToUpdate.setTotalAmount(pricingEngine.quote(bookingToUpdate.getRoom(),
+                    bookingToUpdate.getCheckInDate(), bookingToUpdate.getCheckOutDate()).getTotalAmount());
             
-            return bookingRepo.save(bookingToUpdate);
+            Booking savedBooking = bookingRepo.save(bookingToUpdate);
+            dashboardAggregates.bookingStatusChanged(previousStatus, savedBooking.getStatus());
+            syncAvailabilityIndex(savedBooking);
+            markOccupancyChanged(savedBooking.getRoom());
+            return savedBooking;
         }
         throw new RuntimeException("Booking not found with id: " + bookingId);
     }
     
     @Override
     public void deleteBooking(Long bookingId) {
-        if (!bookingRepo.existsById(bookingId)) {
-            throw new RuntimeException("Booking not found with id: " + bookingId);
-        }
-        bookingRepo.deleteById(bookingId);
+        Booking booking = bookingRepo.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        // Payments of the booking are removed by cascade
+        dashboardAggregates.bookingsRemoved(List.of(bookingId));
+        bookingRepo.delete(booking);
+        TransactionCallbacks.afterCommit(() -> availabilityIndex.remove(bookingId));
+        markOccupancyChanged(booking.getRoom());
     }
     
     @Override
@@ -184,8 +248,13 @@ public class BookingServiceImpl implements BookingService {
         Optional<Booking> bookingOpt = bookingRepo.findById(bookingId);
         if (bookingOpt.isPresent()) {
             Booking booking = bookingOpt.get();
+            Booking.BookingStatus previousStatus = booking.getStatus();
             booking.setStatus(status);
-            return bookingRepo.save(booking);
+            Booking savedBooking = bookingRepo.save(booking);
+            dashboardAggregates.bookingStatusChanged(previousStatus, savedBooking.getStatus());
+            syncAvailabilityIndex(savedBooking);
+            markOccupancyChanged(savedBooking.getRoom());
+            return savedBooking;
         }
         throw new RuntimeException("Booking not found with id: " + bookingId);
     }
@@ -193,8 +262,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public boolean isRoomAvailable(Room room, LocalDate checkIn, LocalDate checkOut) {
-        List<Booking> conflictingBookings = getConflictingBookings(room, checkIn, checkOut);
-        return conflictingBookings.isEmpty();
+        return !hasConflictingBooking(room.getRoomId(), checkIn, checkOut, null);
     }
     
     @Override
@@ -215,9 +283,230 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepo.findByStatus(status, pageable);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Booking> getBookingsBefore(LocalDateTime bookingDate, Long bookingId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (bookingDate == null || bookingId == null) {
+            return bookingRepo.findLatestBookings(pageable);
+        }
+        return bookingRepo.findBookingsBefore(bookingDate, bookingId, pageable);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public long getBookingsCountByStatus(Booking.BookingStatus status) {
-        return bookingRepo.countByStatus(status);
+        return dashboardAggregates.bookingCount(status);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResult importBookings(List<Booking> bookings) {
+        BulkImportResult result = new BulkImportResult(bookings.size());
+        Map<Integer, String> allErrors = new TreeMap<>();
+        for (List<Integer> rows : importChunks(bookings)) {
+            List<Booking> chunk = rows.stream().map(bookings::get).toList();
+            Set<Long> roomIds = roomIdsOf(chunk);
+            Map<Integer, String> errors = new HashMap<>();
+            List<Integer> accepted = new ArrayList<>();
+            try {
+                // One transaction per chunk: a failing chunk does not undo the chunks before it.
+                // Same room locks as createBooking, so the availability check stays valid until commit
+                roomBookingLocks.runLocked(roomIds, () -> transactionTemplate.executeWithoutResult(
+                        status -> importBookingChunk(chunk, rows, roomIds, errors, accepted)));
+                result.addImported(accepted.size());
+            } catch (RuntimeException e) {
+                // Nothing of the chunk was written; rows without their own error failed with it
+                for (Integer row : rows) {
+                    errors.putIfAbsent(row, "Chunk rolled back: " + e.getMessage());
+                }
+            } finally {
+                entityManager.clear();
+            }
+            allErrors.putAll(errors);
+        }
+        allErrors.forEach(result::addError);
+        return result;
+    }
+    
+    /**
+     * Splits the rows of a booking import into chunks of at most app.import.chunk-size
+     * rows whose rooms fall on at most app.import.booking-lock-stripes room lock stripes.
+     * A chunk holds the lock stripes of all its rooms until it commits, and 500 rows for
+     * random rooms cover nearly all 256 stripes, which would stall createBooking for the
+     * length of every chunk. Rows are grouped by stripe, so rows of the same room share a
+     * chunk (or follow each other in order) and are checked against each other.
+     */
+    private List<List<Integer>> importChunks(List<Booking> bookings) {
+        Map<Integer, List<Integer>> rowsByStripe = new LinkedHashMap<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            Long roomId = booking.getRoom() != null ? booking.getRoom().getRoomId() : null;
+            // Rows without a room take no lock; they are only rejected
+            int stripe = roomId != null ? roomBookingLocks.stripeOf(roomId) : -1;
+            rowsByStripe.computeIfAbsent(stripe, key -> new ArrayList<>()).add(i);
+        }
+        
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>();
+        int stripes = 0;
+        for (List<Integer> rows : rowsByStripe.values()) {
+            for (int from = 0; from < rows.size(); from += importChunkSize) {
+                List<Integer> part = rows.subList(from, Math.min(from + importChunkSize, rows.size()));
+                if (!chunk.isEmpty() && (chunk.size() + part.size() > importChunkSize || stripes >= importLockStripes)) {
+                    chunks.add(chunk);
+                    chunk = new ArrayList<>();
+                    stripes = 0;
+                }
+                chunk.addAll(part);
+                stripes++;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+    
+    private static Set<Long> roomIdsOf(List<Booking> chunk) {
+        Set<Long> roomIds = new HashSet<>();
+        for (Booking booking : chunk) {
+            if (booking.getRoom() != null && booking.getRoom().getRoomId() != null) {
+                roomIds.add(booking.getRoom().getRoomId());
+            }
+        }
+        return roomIds;
+    }
+    
+    // rows holds the position of each booking of the chunk in the submitted array
+    private void importBookingChunk(List<Booking> chunk, List<Integer> rows, Set<Long> roomIds,
+                                    Map<Integer, String> errors, List<Integer> accepted) {
+        Set<Long> guestIds = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Booking booking : chunk) {
+            if (booking.getGuest() != null && booking.getGuest().getGuestId() != null) {
+                guestIds.add(booking.getGuest().getGuestId());
+            }
+            if (booking.getCheckInDate() != null && (from == null || booking.getCheckInDate().isBefore(from))) {
+                from = booking.getCheckInDate();
+            }
+            if (booking.getCheckOutDate() != null && (to == null || booking.getCheckOutDate().isAfter(to))) {
+                to = booking.getCheckOutDate();
+            }
+        }
+        Map<Long, Room> rooms = roomRepo.findAllById(roomIds).stream()
+                .collect(Collectors.toMap(Room::getRoomId, Function.identity()));
+        Map<Long, Guest> guests = guestRepo.findAllById(guestIds).stream()
+                .collect(Collectors.toMap(Guest::getGuestId, Function.identity()));
+
+        // Every active stay of the chunk's rooms in one query; accepted rows are added as we go
+        Map<Long, List<Stay>> staysByRoom = new HashMap<>();
+        if (!roomIds.isEmpty() && from != null && to != null) {
+            for (BookingStay stay : bookingRepo.findActiveStaysForRooms(roomIds, from, to)) {
+                staysByRoom.computeIfAbsent(stay.getRoomId(), id -> new ArrayList<>())
+                        .add(new Stay(stay.getCheckInDate(), stay.getCheckOutDate()));
+            }
+        }
+
+        List<Booking> toSave = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Booking booking = chunk.get(i);
+            String error = validateImportedBooking(booking, rooms, guests, staysByRoom);
+            if (error != null) {
+                errors.put(rows.get(i), error);
+                continue;
+            }
+            Room room = rooms.get(booking.getRoom().getRoomId());
+            booking.setBookingId(null);
+            booking.setRoom(room);
+            booking.setGuest(guests.get(booking.getGuest().getGuestId()));
+            if (booking.getStatus() == null) {
+                booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            }
+            if (booking.getTotalAmount() == null) {
+                booking.setTotalAmount(pricingEngine.quote(room, booking.getCheckInDate(),
+                        booking.getCheckOutDate()).getTotalAmount());
+            }
+            if (booking.getBookingDate() == null) {
+                booking.setBookingDate(LocalDateTime.now());
+            }
+            if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
+                staysByRoom.computeIfAbsent(room.getRoomId(), id -> new ArrayList<>())
+                        .add(new Stay(booking.getCheckInDate(), booking.getCheckOutDate()));
+            }
+            toSave.add(booking);
+            accepted.add(rows.get(i));
+        }
+
+        // Pooled ids and hibernate.jdbc.batch_size turn these into batched multi-row inserts
+        bookingRepo.saveAll(toSave);
+        bookingRepo.flush();
+        dashboardAggregates.bookingsAdded(toSave);
+        for (Booking booking : toSave) {
+            syncAvailabilityIndex(booking);
+            markOccupancyChanged(booking.getRoom());
+        }
+    }
+    
+    private String validateImportedBooking(Booking booking, Map<Long, Room> rooms, Map<Long, Guest> guests,
+                                           Map<Long, List<Stay>> staysByRoom) {
+        if (booking.getRoom() == null || booking.getRoom().getRoomId() == null
+                || booking.getGuest() == null || booking.getGuest().getGuestId() == null) {
+            return "Room and guest are required";
+        }
+        if (booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+            return "Check-in and check-out dates are required";
+        }
+        if (booking.getCheckInDate().isAfter(booking.getCheckOutDate())) {
+            return "Check-in date cannot be after check-out date";
+        }
+        if (!rooms.containsKey(booking.getRoom().getRoomId())) {
+            return "Room not found";
+        }
+        if (!guests.containsKey(booking.getGuest().getGuestId())) {
+            return "Guest not found";
+        }
+        if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
+            for (Stay stay : staysByRoom.getOrDefault(booking.getRoom().getRoomId(), List.of())) {
+                if (stay.overlaps(booking.getCheckInDate(), booking.getCheckOutDate())) {
+                    return "Room is not available for the selected dates";
+                }
+            }
+        }
+        return null;
+    }
+    
+    private boolean hasConflictingBooking(Long roomId, LocalDate checkIn, LocalDate checkOut, Long excludeBookingId) {
+        if (availabilityIndex.covers(checkIn)) {
+            return availabilityIndex.hasConflict(roomId, checkIn, checkOut, excludeBookingId);
+        }
+        // Stays starting before the index horizon are checked against the database
+        return bookingRepo.existsConflictingBooking(roomId, checkIn, checkOut, excludeBookingId);
+    }
+    
+    private void syncAvailabilityIndex(Booking booking) {
+        Long bookingId = booking.getBookingId();
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
+            TransactionCallbacks.afterCommit(() -> availabilityIndex.remove(bookingId));
+            return;
+        }
+        Long roomId = booking.getRoom().getRoomId();
+        LocalDate checkIn = booking.getCheckInDate();
+        LocalDate checkOut = booking.getCheckOutDate();
+        TransactionCallbacks.afterCommit(() -> availabilityIndex.put(bookingId, roomId, checkIn, checkOut));
+    }
+    
+    private void markOccupancyChanged(Room room) {
+        Long categoryId = room.getRoomCategory().getCategoryId();
+        TransactionCallbacks.afterCommit(() -> dynamicPricingJob.markDirty(categoryId));
+    }
+    
+    // Same overlap rule as BookingRepo.existsConflictingBooking
+    private record Stay(LocalDate checkIn, LocalDate checkOut) {
+        
+        boolean overlaps(LocalDate otherCheckIn, LocalDate otherCheckOut) {
+            return checkIn.compareTo(otherCheckOut) <= 0 && checkOut.compareTo(otherCheckIn) >= 0;
+        }
     }
 }
\ No newline at end of file
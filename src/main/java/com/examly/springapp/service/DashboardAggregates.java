@@ -0,0 +1,221 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.Booking;
+import com.examly.springapp.model.BookingStatusCount;
+import com.examly.springapp.model.Payment;
+import com.examly.springapp.model.PaymentStatusTotal;
+import com.examly.springapp.repository.BookingStatusCountRepo;
+import com.examly.springapp.repository.PaymentDailyAggregateRepo;
+import com.examly.springapp.repository.PaymentStatusTotalRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Payment and booking totals kept up to date by deltas, so the dashboard reads a
+ * handful of rows instead of scanning payments and bookings.
+ *
+ * Every payment and booking write applies its delta here in the same transaction
+ * (hence MANDATORY), as an upsert that adds to the counters, so the aggregates commit
+ * or roll back with the write that caused them. Deletes that cascade to bookings and
+ * payments must call bookingsRemoved before the delete. AggregateReconciliationJob
+ * rebuilds everything from the base tables to repair drift, e.g. from SQL run outside
+ * the application.
+ *
+ * The upserts are native queries, so each one declares the tables it touches as query
+ * spaces. Hibernate then flushes before one only when writes to those tables are pending,
+ * and leaves the second-level and query caches alone instead of evicting every region.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class DashboardAggregates {
+
+    @Autowired
+    private PaymentDailyAggregateRepo paymentDailyAggregateRepo;
+
+    @Autowired
+    private PaymentStatusTotalRepo paymentStatusTotalRepo;
+
+    @Autowired
+    private BookingStatusCountRepo bookingStatusCountRepo;
+
+    @Value("${app.aggregates.delete-chunk-size:1000}")
+    private int deleteChunkSize;
+
+    /**
+     * Captures the aggregate key and amount of a payment before it is modified.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PaymentSnapshot snapshot(Payment payment) {
+        return new PaymentSnapshot(payment.getPaymentDate(), payment.getPaymentMethod(),
+                payment.getStatus(), payment.getAmount());
+    }
+
+    public void paymentAdded(Payment payment) {
+        apply(snapshot(payment), 1);
+    }
+
+    public void paymentRemoved(Payment payment) {
+        apply(snapshot(payment), -1);
+    }
+
+    /**
+     * Adds many new payments with one upsert per distinct day, method and status.
+     */
+    public void paymentsAdded(Collection<Payment> payments) {
+        Map<DailyKey, Delta> daily = new HashMap<>();
+        Map<Payment.PaymentStatus, Delta> byStatus = new EnumMap<>(Payment.PaymentStatus.class);
+        for (Payment payment : payments) {
+            DailyKey key = new DailyKey(payment.getPaymentDate().toLocalDate(), payment.getPaymentMethod(),
+                    payment.getStatus());
+            daily.computeIfAbsent(key, k -> new Delta()).add(payment.getAmount());
+            byStatus.computeIfAbsent(payment.getStatus(), s -> new Delta()).add(payment.getAmount());
+        }
+        daily.forEach((key, delta) -> paymentDailyAggregateRepo.addDelta(key.day().atStartOfDay(),
+                key.paymentMethod().name(), key.status().name(), delta.count, delta.amount));
+        byStatus.forEach((status, delta) ->
+                paymentStatusTotalRepo.addDelta(status.name(), delta.count, delta.amount));
+    }
+
+    public void paymentChanged(PaymentSnapshot before, Payment payment) {
+        PaymentSnapshot after = snapshot(payment);
+        if (!before.equals(after)) {
+            apply(before, -1);
+            apply(after, 1);
+        }
+    }
+
+    public void bookingAdded(Booking.BookingStatus status) {
+        bookingStatusCountRepo.addDelta(status.name(), 1);
+    }
+
+    /**
+     * Adds many new bookings with one upsert per status.
+     */
+    public void bookingsAdded(Collection<Booking> bookings) {
+        Map<Booking.BookingStatus, Long> counts = new EnumMap<>(Booking.BookingStatus.class);
+        for (Booking booking : bookings) {
+            counts.merge(booking.getStatus(), 1L, Long::sum);
+        }
+        counts.forEach((status, count) -> bookingStatusCountRepo.addDelta(status.name(), count));
+    }
+
+    public void bookingRemoved(Booking.BookingStatus status) {
+        bookingStatusCountRepo.addDelta(status.name(), -1);
+    }
+
+    public void bookingStatusChanged(Booking.BookingStatus before, Booking.BookingStatus after) {
+        if (before != after) {
+            bookingStatusCountRepo.addDelta(before.name(), -1);
+            bookingStatusCountRepo.addDelta(after.name(), 1);
+        }
+    }
+
+    /**
+     * Subtracts the given bookings and all of their payments. Call before deleting them,
+     * directly or through a cascade from their room, guest or category.
+     */
+    public void bookingsRemoved(Collection<Long> bookingIds) {
+        List<Long> ids = new ArrayList<>(bookingIds);
+        for (int from = 0; from < ids.size(); from += deleteChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + deleteChunkSize, ids.size()));
+            paymentDailyAggregateRepo.subtractBookings(chunk);
+            paymentStatusTotalRepo.subtractBookings(chunk);
+            bookingStatusCountRepo.subtractBookings(chunk);
+        }
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BigDecimal paymentTotal(Payment.PaymentStatus status) {
+        return paymentStatusTotalRepo.findById(status)
+                .map(PaymentStatusTotal::getTotalAmount)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long paymentCount(Payment.PaymentStatus status) {
+        return paymentStatusTotalRepo.findById(status)
+                .map(PaymentStatusTotal::getPaymentCount)
+                .orElse(0L);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long bookingCount(Booking.BookingStatus status) {
+        return bookingStatusCountRepo.findById(status)
+                .map(BookingStatusCount::getBookingCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Replaces every aggregate with one computed from the base tables. The DELETE locks
+     * the aggregate rows, so writers wait for the rebuild instead of adding deltas that
+     * it would overwrite.
+     */
+    public void rebuild() {
+        paymentDailyAggregateRepo.deleteAllRows();
+        paymentStatusTotalRepo.deleteAllRows();
+        bookingStatusCountRepo.deleteAllRows();
+        paymentDailyAggregateRepo.rebuildFromPayments();
+        paymentStatusTotalRepo.rebuildFromPayments();
+        bookingStatusCountRepo.rebuildFromBookings();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public boolean isEmpty() {
+        return bookingStatusCountRepo.count() == 0 && paymentStatusTotalRepo.count() == 0;
+    }
+
+    private void apply(PaymentSnapshot payment, int sign) {
+        BigDecimal amount = sign < 0 ? payment.amount().negate() : payment.amount();
+        paymentDailyAggregateRepo.addDelta(payment.paymentDate(), payment.paymentMethod().name(),
+                payment.status().name(), sign, amount);
+        paymentStatusTotalRepo.addDelta(payment.status().name(), sign, amount);
+    }
+
+    private record DailyKey(LocalDate day, Payment.PaymentMethod paymentMethod, Payment.PaymentStatus status) {}
+
+    private static class Delta {
+
+        long count;
+
+        BigDecimal amount = BigDecimal.ZERO;
+
+        void add(BigDecimal paymentAmount) {
+            count++;
+            amount = amount.add(paymentAmount);
+        }
+    }
+
+    public record PaymentSnapshot(LocalDateTime paymentDate, Payment.PaymentMethod paymentMethod,
+                                  Payment.PaymentStatus status, BigDecimal amount) {
+
+        @Override
+        public boolean equals(Object o) {
+            // BigDecimal.equals would treat 10.0 and 10.00 as different amounts
+            return o instanceof PaymentSnapshot other
+                    && Objects.equals(paymentDate == null ? null : paymentDate.toLocalDate(),
+                                      other.paymentDate == null ? null : other.paymentDate.toLocalDate())
+                    && paymentMethod == other.paymentMethod && status == other.status
+                    && amount.compareTo(other.amount) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(paymentDate == null ? null : paymentDate.toLocalDate(), paymentMethod, status,
+                    amount.stripTrailingZeros());
+        }
+    }
+}
\ No newline at end of file
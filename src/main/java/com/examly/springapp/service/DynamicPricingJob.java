@@ -0,0 +1,196 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.configuration.CacheConfig;
+import com.examly.springapp.dto.CategoryOccupancy;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.RoomRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periodically sets each room's dynamicPriceMultiplier from the occupancy of its
+ * category over the next window-days nights.
+ *
+ * Occupancy is booked room-nights divided by available room-nights, computed for all
+ * categories in one aggregate query. The multiplier comes from the first configured
+ * band whose threshold the occupancy reaches, e.g. "0.9:1.25" means 90% occupancy or
+ * more prices at 1.25x. Only categories whose bookings changed since the last run are
+ * recomputed; the first run after startup and the first run of each day, when the
+ * window moves, cover every category.
+ *
+ * A multiplier set by hand, through PATCH /api/rooms/{id}/dynamic-pricing or the bulk
+ * pricing endpoint, is kept for manual-override-hours. The room is skipped until then
+ * and picked up again by the next run covering its category.
+ */
+@Component
+public class DynamicPricingJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamicPricingJob.class);
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${app.pricing.dynamic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.pricing.dynamic.window-days:30}")
+    private int windowDays;
+
+    @Value("${app.pricing.dynamic.bands:0.9:1.25,0.75:1.15,0.5:1.0,0:0.9}")
+    private String[] bandSpecs;
+
+    // Occupancy threshold to multiplier, highest threshold first
+    private final TreeMap<Double, BigDecimal> bands = new TreeMap<>(Comparator.reverseOrder());
+
+    private final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean allDirty = true;
+
+    private LocalDate lastWindowStart;
+
+    @PostConstruct
+    public void init() {
+        for (String spec : bandSpecs) {
+            String[] parts = spec.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid dynamic pricing band '" + spec + "', expected occupancy:multiplier");
+            }
+            bands.put(Double.parseDouble(parts[0]), new BigDecimal(parts[1]));
+        }
+    }
+
+    /**
+     * Records that bookings of the given category changed. Cheap enough to call after every write.
+     */
+    public void markDirty(Long categoryId) {
+        if (categoryId != null) {
+            dirtyCategories.add(categoryId);
+        }
+    }
+
+    public void markAllDirty() {
+        allDirty = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.dynamic.interval-ms:300000}",
+               initialDelayString = "${app.pricing.dynamic.initial-delay-ms:60000}")
+    @Transactional
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        boolean all = allDirty || !today.equals(lastWindowStart);
+        allDirty = false;
+        Set<Long> categories = drainDirtyCategories();
+        if (!all && categories.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            int updated = reprice(today, all, categories);
+            lastWindowStart = today;
+            logger.info("Dynamic pricing updated {} rooms across {} categories in {} ms",
+                    updated, all ? "all" : categories.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Retry the same categories on the next run
+            if (all) {
+                allDirty = true;
+            }
+            dirtyCategories.addAll(categories);
+            throw e;
+        }
+    }
+
+    private int reprice(LocalDate windowStart, boolean all, Set<Long> categories) {
+        LocalDate windowEnd = windowStart.plusDays(windowDays);
+        // The IN list must not be empty even when it is ignored
+        Collection<Long> categoryIds = categories.isEmpty() ? List.of(-1L) : categories;
+        List<CategoryOccupancy> occupancies = bookingRepo.findCategoryOccupancy(windowStart, windowEnd, all, categoryIds);
+
+        Map<BigDecimal, List<Long>> categoriesByMultiplier = new HashMap<>();
+        for (CategoryOccupancy occupancy : occupancies) {
+            long capacity = occupancy.getRoomCount().longValue() * windowDays;
+            double rate = capacity > 0 ? occupancy.getBookedNights().doubleValue() / capacity : 0;
+            categoriesByMultiplier.computeIfAbsent(multiplierFor(rate), m -> new ArrayList<>())
+                    .add(occupancy.getCategoryId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        Set<Long> changedCategories = new HashSet<>();
+        for (Map.Entry<BigDecimal, List<Long>> entry : categoriesByMultiplier.entrySet()) {
+            int rows = roomRepo.updateDynamicMultiplierByCategories(entry.getValue(), entry.getKey(), now);
+            if (rows > 0) {
+                updated += rows;
+                changedCategories.addAll(entry.getValue());
+            }
+        }
+
+        if (!changedCategories.isEmpty()) {
+            List<PricingUpdate> pricingUpdates = new ArrayList<>();
+            for (Room room : roomRepo.findByCategoryIds(changedCategories)) {
+                pricingUpdates.add(new PricingUpdate(room.getRoomId(), room.getRoomCategory().getCategoryId(),
+                        room.getCurrentPrice()));
+            }
+            TransactionCallbacks.afterCommit(() -> pricingUpdates.forEach(update ->
+                    pricingEngine.refreshRoom(update.roomId(), update.categoryId(), update.currentPrice())));
+            // Transaction-aware caches apply these after commit
+            cacheManager.getCache(CacheConfig.AVAILABLE_ROOMS).clear();
+            cacheManager.getCache(CacheConfig.ROOMS_BY_CATEGORY).clear();
+        }
+        return updated;
+    }
+
+    private BigDecimal multiplierFor(double occupancy) {
+        for (Map.Entry<Double, BigDecimal> band : bands.entrySet()) {
+            if (occupancy >= band.getKey()) {
+                return band.getValue();
+            }
+        }
+        return BigDecimal.ONE;
+    }
+
+    private Set<Long> drainDirtyCategories() {
+        Set<Long> drained = new HashSet<>();
+        for (Long categoryId : dirtyCategories) {
+            dirtyCategories.remove(categoryId);
+            drained.add(categoryId);
+        }
+        return drained;
+    }
+
+    private record PricingUpdate(Long roomId, Long categoryId, BigDecimal currentPrice) {}
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.examly.springapp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    
+    long exportBookings(OutputStream outputStream) throws IOException;
+    
+    long exportPayments(OutputStream outputStream) throws IOException;
+    
+    long exportGuests(OutputStream outputStream) throws IOException;
+}
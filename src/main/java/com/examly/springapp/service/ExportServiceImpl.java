@@ -0,0 +1,82 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.GuestRepo;
+import com.examly.springapp.repository.PaymentRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as newline-delimited JSON straight from a database cursor.
+ * Rows are detached once written and the persistence context is cleared
+ * periodically, so memory stays flat regardless of the number of rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+    
+    private static final int CLEAR_INTERVAL = 500;
+    
+    @Autowired
+    private BookingRepo bookingRepo;
+    
+    @Autowired
+    private PaymentRepo paymentRepo;
+    
+    @Autowired
+    private GuestRepo guestRepo;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public long exportBookings(OutputStream outputStream) throws IOException {
+        return writeNdjson(bookingRepo.streamAll(), outputStream);
+    }
+    
+    @Override
+    public long exportPayments(OutputStream outputStream) throws IOException {
+        return writeNdjson(paymentRepo.streamAll(), outputStream);
+    }
+    
+    @Override
+    public long exportGuests(OutputStream outputStream) throws IOException {
+        return writeNdjson(guestRepo.streamAll(), outputStream);
+    }
+    
+    private <T> long writeNdjson(Stream<T> rows, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                writer.writeValue(outputStream, row);
+                outputStream.write('\n');
+                entityManager.detach(row);
+                
+                // Associated guests and rooms stay managed after the row is detached
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    outputStream.flush();
+                }
+            }
+        }
+        outputStream.flush();
+        return count;
+    }
+}
@@ -0,0 +1,367 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.GuestSearchFields;
+import com.examly.springapp.model.Guest;
+import com.examly.springapp.repository.GuestRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over the name, email and phone of every guest, used by guest
+ * search instead of LIKE '%...%' scans of the guests table.
+ *
+ * Every word of a query must match a word of the name or email, exactly, as a prefix
+ * or, from fuzzy-min-length characters on, within one or two edits. A query containing
+ * '@' also matches whole emails by prefix, and a query of digits matches phone numbers
+ * by their leading or trailing digits. searchNameOrEmail instead matches the name words
+ * and the email words separately and returns guests matching either. Only guest ids
+ * are stored; callers load the matching guests by id.
+ *
+ * The index is rebuilt from the guests table once the application is ready and is kept
+ * in sync by GuestServiceImpl after each committed write. It lives on the heap unless
+ * app.search.guests.index-dir names a directory, which is memory-mapped and recreated
+ * on every start.
+ */
+@Component
+public class GuestSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String EMAIL = "email";
+    private static final String EMAIL_WORDS = "emailWords";
+    private static final String PHONE = "phone";
+    private static final String PHONE_REVERSED = "phoneReversed";
+
+    private static final int MAX_QUERY_WORDS = 8;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern LETTERS = Pattern.compile("\\p{L}");
+
+    @Autowired
+    private GuestRepo guestRepo;
+
+    @Value("${app.search.guests.index-dir:}")
+    private String indexDir;
+
+    @Value("${app.search.guests.fuzzy-min-length:4}")
+    private int fuzzyMinLength;
+
+    @Value("${app.search.guests.min-phone-digits:3}")
+    private int minPhoneDigits;
+
+    private Analyzer analyzer;
+
+    private Directory directory;
+
+    private IndexWriter writer;
+
+    private SearcherManager searcherManager;
+
+    // Ids written by the services while a rebuild runs, which the rebuild's older snapshot must not overwrite
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * Guest ids of one page of hits, best match first, and the total number of hits
+     * (a lower bound beyond 1000).
+     */
+    public record Hits(List<Long> guestIds, long totalHits) {}
+
+    @PostConstruct
+    public void open() throws IOException {
+        // Case and accent insensitive words, so "jose" finds "José"
+        analyzer = CustomAnalyzer.builder()
+                .withTokenizer(StandardTokenizerFactory.NAME)
+                .addTokenFilter(LowerCaseFilterFactory.NAME)
+                .addTokenFilter(ASCIIFoldingFilterFactory.NAME)
+                .build();
+        directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        IOUtils.close(searcherManager, writer, directory, analyzer);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        long count = 0;
+        try (Stream<GuestSearchFields> rows = guestRepo.streamSearchFields()) {
+            Iterator<GuestSearchFields> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                GuestSearchFields row = iterator.next();
+                synchronized (this) {
+                    if (!changedDuringRebuild.contains(row.getGuestId())) {
+                        write(row.getGuestId(), row.getName(), row.getEmail(), row.getPhone());
+                    }
+                }
+                count++;
+            }
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+        refresh();
+        logger.info("Guest search index loaded with {} guests in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void put(Guest guest) {
+        putAll(List.of(guest));
+    }
+
+    public void putAll(Collection<Guest> guests) {
+        for (Guest guest : guests) {
+            synchronized (this) {
+                markChanged(guest.getGuestId());
+                write(guest.getGuestId(), guest.getName(), guest.getEmail(), guest.getPhone());
+            }
+        }
+        refresh();
+    }
+
+    public void remove(Long guestId) {
+        synchronized (this) {
+            markChanged(guestId);
+            try {
+                writer.deleteDocuments(new Term(ID, guestId.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Ids of the guests matching the query, skipping the first offset hits. A blank
+     * query matches nothing.
+     */
+    public Hits search(String text, int offset, int limit) {
+        return search(buildQuery(text), offset, limit);
+    }
+
+    /**
+     * Ids of the guests whose name matches every word of name or whose email matches
+     * every word of email, each field searched on its own. Blank arguments are ignored.
+     */
+    public Hits searchNameOrEmail(String name, String email, int offset, int limit) {
+        return search(buildNameOrEmailQuery(name, email), offset, limit);
+    }
+
+    private Hits search(Query query, int offset, int limit) {
+        if (query == null || limit <= 0) {
+            return new Hits(List.of(), 0);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, offset + limit);
+                List<Long> guestIds = new ArrayList<>(limit);
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    guestIds.add(Long.valueOf(searcher.doc(scoreDocs[i].doc).get(ID)));
+                }
+                return new Hits(guestIds, topDocs.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void markChanged(Long guestId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(guestId);
+        }
+    }
+
+    private void write(Long guestId, String name, String email, String phone) {
+        Document document = new Document();
+        document.add(new StringField(ID, guestId.toString(), Field.Store.YES));
+        document.add(new TextField(NAME, name != null ? name : "", Field.Store.NO));
+        if (email != null) {
+            document.add(new StringField(EMAIL, email.toLowerCase(Locale.ROOT), Field.Store.NO));
+            document.add(new TextField(EMAIL_WORDS, SEPARATORS.matcher(email).replaceAll(" "), Field.Store.NO));
+        }
+        String digits = phone != null ? NON_DIGITS.matcher(phone).replaceAll("") : "";
+        if (!digits.isEmpty()) {
+            document.add(new StringField(PHONE, digits, Field.Store.NO));
+            document.add(new StringField(PHONE_REVERSED, reverse(digits), Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(ID, guestId.toString()), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Makes the writes so far visible to searches; waits for a refresh already in progress
+    private void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query buildQuery(String text) {
+        String raw = normalize(text);
+        BooleanQuery.Builder anyOf = new BooleanQuery.Builder();
+
+        Query allWords = allWords(raw, this::wordQuery);
+        if (allWords != null) {
+            anyOf.add(allWords, BooleanClause.Occur.SHOULD);
+        }
+        if (raw.indexOf('@') >= 0) {
+            anyOf.add(new BoostQuery(new PrefixQuery(new Term(EMAIL, raw)), 4f), BooleanClause.Occur.SHOULD);
+        }
+        String digits = NON_DIGITS.matcher(raw).replaceAll("");
+        if (digits.length() >= minPhoneDigits && !LETTERS.matcher(raw).find()) {
+            anyOf.add(new BoostQuery(new PrefixQuery(new Term(PHONE, digits)), 4f), BooleanClause.Occur.SHOULD);
+            anyOf.add(new PrefixQuery(new Term(PHONE_REVERSED, reverse(digits))), BooleanClause.Occur.SHOULD);
+        }
+
+        return orNull(anyOf.build());
+    }
+
+    // The legacy name and email parameters: name LIKE ... OR email LIKE ..., not both at once
+    private Query buildNameOrEmailQuery(String name, String email) {
+        String rawEmail = normalize(email);
+        BooleanQuery.Builder anyOf = new BooleanQuery.Builder();
+
+        Query nameWords = allWords(normalize(name), word -> nameWordQuery(word).build());
+        if (nameWords != null) {
+            anyOf.add(nameWords, BooleanClause.Occur.SHOULD);
+        }
+        Query emailWords = allWords(rawEmail, word -> new PrefixQuery(new Term(EMAIL_WORDS, word)));
+        if (emailWords != null) {
+            anyOf.add(emailWords, BooleanClause.Occur.SHOULD);
+        }
+        if (rawEmail.indexOf('@') >= 0) {
+            anyOf.add(new BoostQuery(new PrefixQuery(new Term(EMAIL, rawEmail)), 4f), BooleanClause.Occur.SHOULD);
+        }
+        return orNull(anyOf.build());
+    }
+
+    // Every word of the text must match wordQuery, or null when the text has no words
+    private Query allWords(String raw, Function<String, Query> wordQuery) {
+        List<String> words = analyze(SEPARATORS.matcher(raw).replaceAll(" "));
+        if (words.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder allWords = new BooleanQuery.Builder();
+        for (String word : words.subList(0, Math.min(words.size(), MAX_QUERY_WORDS))) {
+            allWords.add(wordQuery.apply(word), BooleanClause.Occur.MUST);
+        }
+        return allWords.build();
+    }
+
+    // A name word, or the start of an email word, which ranks below name matches
+    private Query wordQuery(String word) {
+        BooleanQuery.Builder builder = nameWordQuery(word);
+        builder.add(new PrefixQuery(new Term(EMAIL_WORDS, word)), BooleanClause.Occur.SHOULD);
+        return builder.build();
+    }
+
+    // Exact name words rank above prefixes, prefixes above typos
+    private BooleanQuery.Builder nameWordQuery(String word) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(new BoostQuery(new TermQuery(new Term(NAME, word)), 3f), BooleanClause.Occur.SHOULD);
+        builder.add(new BoostQuery(new PrefixQuery(new Term(NAME, word)), 2f), BooleanClause.Occur.SHOULD);
+        if (word.length() >= fuzzyMinLength) {
+            // A fixed first character keeps the term enumeration short at a million guests
+            int maxEdits = word.length() >= 7 ? 2 : 1;
+            builder.add(new FuzzyQuery(new Term(NAME, word), maxEdits, 1), BooleanClause.Occur.SHOULD);
+        }
+        return builder;
+    }
+
+    private static Query orNull(BooleanQuery query) {
+        return query.clauses().isEmpty() ? null : query;
+    }
+
+    private static String normalize(String text) {
+        return text != null ? text.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static String reverse(String value) {
+        return new StringBuilder(value).reverse().toString();
+    }
+}
\ No newline at end of file
@@ -4,6 +4,9 @@ import com.examly.springapp.model.Guest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,11 +30,15 @@ public interface GuestService {
     
     Page<Guest> getGuestsWithPagination(Pageable pageable);
     
-    Page<Guest> searchGuests(String name, String email, Pageable pageable);
+    Page<Guest> searchGuests(String query, Pageable pageable);
+    
+    Page<Guest> searchGuestsByNameOrEmail(String name, String email, Pageable pageable);
     
     boolean existsByEmail(String email);
     
     boolean existsByPhone(String phone);
     
     long getTotalGuestsCount();
+    
+    long importGuests(InputStream input, boolean csv, OutputStream output) throws IOException;
 }
\ No newline at end of file
@@ -1,16 +1,41 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.ImportRowResult;
 import com.examly.springapp.model.Guest;
+import com.examly.springapp.repository.BookingRepo;
 import com.examly.springapp.repository.GuestRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 @Service
 @Transactional
@@ -18,6 +43,36 @@ public class GuestServiceImpl implements GuestService {
     
     @Autowired
     private GuestRepo guestRepo;
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DynamicPricingJob dynamicPricingJob;
+    
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+    
+    @Autowired
+    private GuestSearchIndex guestSearchIndex;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.import.chunk-size:500}")
+    private int importChunkSize;
+    
+    @Value("${app.search.guests.max-results:1000}")
+    private int searchMaxResults;
     
     @Override
     public Guest createGuest(Guest guest) {
@@ -28,7 +83,9 @@ public class GuestServiceImpl implements GuestService {
             throw new RuntimeException("Guest with phone '" + guest.getPhone() + "' already exists");
         }
         guest.setRegistrationDate(LocalDateTime.now());
-        return guestRepo.save(guest);
+        Guest savedGuest = guestRepo.save(guest);
+        TransactionCallbacks.afterCommit(() -> guestSearchIndex.put(savedGuest));
+        return savedGuest;
     }
     
     @Override
@@ -66,7 +123,9 @@ public class GuestServiceImpl implements GuestService {
             guestToUpdate.setEmail(guest.getEmail());
             guestToUpdate.setAddress(guest.getAddress());
             
-            return guestRepo.save(guestToUpdate);
+            Guest savedGuest = guestRepo.save(guestToUpdate);
+            TransactionCallbacks.afterCommit(() -> guestSearchIndex.put(savedGuest));
+            return savedGuest;
         }
         throw new RuntimeException("Guest not found with id: " + guestId);
     }
@@ -76,7 +135,15 @@ public class GuestServiceImpl implements GuestService {
         if (!guestRepo.existsById(guestId)) {
             throw new RuntimeException("Guest not found with id: " + guestId);
         }
+        // Bookings of the guest are removed by cascade
+        List<Long> bookingIds = bookingRepo.findBookingIdsByGuestId(guestId);
+        dashboardAggregates.bookingsRemoved(bookingIds);
         guestRepo.deleteById(guestId);
+        TransactionCallbacks.afterCommit(() -> {
+            availabilityIndex.removeAll(bookingIds);
+            dynamicPricingJob.markAllDirty();
+            guestSearchIndex.remove(guestId);
+        });
     }
     
     @Override
@@ -96,7 +163,7 @@ public class GuestServiceImpl implements GuestService {
     @Override
     @Transactional(readOnly = true)
     public List<Guest> searchGuestsByName(String name) {
-        return guestRepo.findByNameContainingIgnoreCase(name);
+        return findInOrder(guestSearchIndex.search(name, 0, searchMaxResults).guestIds());
     }
     
     @Override
@@ -107,8 +174,31 @@ public class GuestServiceImpl implements GuestService {
     
     @Override
     @Transactional(readOnly = true)
-    public Page<Guest> searchGuests(String name, String email, Pageable pageable) {
-        return guestRepo.findByNameOrEmail(name, email, pageable);
+    public Page<Guest> searchGuests(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return guestRepo.findAll(pageable);
+        }
+        return searchPage(pageable, (offset, limit) -> guestSearchIndex.search(query, offset, limit));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Guest> searchGuestsByNameOrEmail(String name, String email, Pageable pageable) {
+        if ((name == null || name.isBlank()) && (email == null || email.isBlank())) {
+            return guestRepo.findAll(pageable);
+        }
+        return searchPage(pageable, (offset, limit) -> guestSearchIndex.searchNameOrEmail(name, email, offset, limit));
+    }
+    
+    // One page of index hits, capped at searchMaxResults
+    private Page<Guest> searchPage(Pageable pageable, BiFunction<Integer, Integer, GuestSearchIndex.Hits> search) {
+        // Hits come in relevance order, so the sort of the pageable does not apply
+        if (pageable.getOffset() >= searchMaxResults) {
+            return new PageImpl<>(List.of(), pageable, searchMaxResults);
+        }
+        int limit = (int) Math.min(pageable.getPageSize(), searchMaxResults - pageable.getOffset());
+        GuestSearchIndex.Hits hits = search.apply((int) pageable.getOffset(), limit);
+        return new PageImpl<>(findInOrder(hits.guestIds()), pageable, Math.min(hits.totalHits(), searchMaxResults));
     }
     
     @Override
@@ -128,4 +218,220 @@ public class GuestServiceImpl implements GuestService {
     public long getTotalGuestsCount() {
         return guestRepo.countAllGuests();
     }
+    
+    // Guests by id in the order of the ids; guests deleted since they were indexed are skipped
+    private List<Guest> findInOrder(List<Long> guestIds) {
+        Map<Long, Guest> guestsById = new HashMap<>();
+        for (Guest guest : guestRepo.findAllById(guestIds)) {
+            guestsById.put(guest.getGuestId(), guest);
+        }
+        List<Guest> guests = new ArrayList<>(guestIds.size());
+        for (Long guestId : guestIds) {
+            Guest guest = guestsById.get(guestId);
+            if (guest != null) {
+                guests.add(guest);
+            }
+        }
+        return guests;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long importGuests(InputStream input, boolean csv, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ObjectReader jsonReader = objectMapper.readerFor(Guest.class);
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Map<String, Integer> csvColumns = csv ? readCsvHeader(reader.readLine()) : null;
+        
+        // Emails and phones of every accepted row so far, to reject duplicates within the import
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenPhones = new HashSet<>();
+        List<PendingGuest> chunk = new ArrayList<>(importChunkSize);
+        long row = 0;
+        long created = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            Guest guest;
+            try {
+                guest = csv ? parseCsvGuest(line, csvColumns) : jsonReader.readValue(line);
+            } catch (IOException | RuntimeException e) {
+                writeRow(writer, output, ImportRowResult.rejected(row, ImportRowResult.Status.INVALID,
+                        "Unreadable row: " + e.getMessage()));
+                continue;
+            }
+            if (isBlank(guest.getName()) || isBlank(guest.getPhone()) || isBlank(guest.getEmail())) {
+                writeRow(writer, output, ImportRowResult.rejected(row, ImportRowResult.Status.INVALID,
+                        "Name, phone and email are required"));
+                continue;
+            }
+            guest.setEmail(guest.getEmail().trim());
+            guest.setPhone(guest.getPhone().trim());
+            String emailKey = emailKey(guest.getEmail());
+            if (seenEmails.contains(emailKey) || seenPhones.contains(guest.getPhone())) {
+                writeRow(writer, output, ImportRowResult.rejected(row, ImportRowResult.Status.DUPLICATE,
+                        "Email or phone repeats an earlier row of the import"));
+                continue;
+            }
+            seenEmails.add(emailKey);
+            seenPhones.add(guest.getPhone());
+            
+            chunk.add(new PendingGuest(row, guest));
+            if (chunk.size() >= importChunkSize) {
+                created += importGuestChunk(chunk, writer, output);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += importGuestChunk(chunk, writer, output);
+        }
+        output.flush();
+        return created;
+    }
+    
+    private int importGuestChunk(List<PendingGuest> chunk, ObjectWriter writer, OutputStream output) throws IOException {
+        List<ImportRowResult> results = new ArrayList<>(chunk.size());
+        List<PendingGuest> toSave = new ArrayList<>(chunk.size());
+        try {
+            // One transaction per chunk: a failing chunk does not undo the chunks before it
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> emails = new HashSet<>();
+                Set<String> phones = new HashSet<>();
+                for (PendingGuest pending : chunk) {
+                    emails.add(pending.guest().getEmail());
+                    phones.add(pending.guest().getPhone());
+                }
+                Set<String> existingEmails = new HashSet<>();
+                Set<String> existingPhones = new HashSet<>();
+                for (Object[] contact : guestRepo.findExistingContacts(emails, phones)) {
+                    existingEmails.add(emailKey((String) contact[0]));
+                    existingPhones.add((String) contact[1]);
+                }
+                
+                LocalDateTime now = LocalDateTime.now();
+                for (PendingGuest pending : chunk) {
+                    Guest guest = pending.guest();
+                    if (existingEmails.contains(emailKey(guest.getEmail()))) {
+                        results.add(ImportRowResult.rejected(pending.row(), ImportRowResult.Status.DUPLICATE,
+                                "Guest with email '" + guest.getEmail() + "' already exists"));
+                    } else if (existingPhones.contains(guest.getPhone())) {
+                        results.add(ImportRowResult.rejected(pending.row(), ImportRowResult.Status.DUPLICATE,
+                                "Guest with phone '" + guest.getPhone() + "' already exists"));
+                    } else {
+                        guest.setGuestId(null);
+                        guest.setRegistrationDate(now);
+                        toSave.add(pending);
+                    }
+                }
+                // Pooled ids and hibernate.jdbc.batch_size turn these into batched multi-row inserts
+                guestRepo.saveAll(toSave.stream().map(PendingGuest::guest).toList());
+                guestRepo.flush();
+            });
+            for (PendingGuest pending : toSave) {
+                results.add(ImportRowResult.created(pending.row(), pending.guest().getGuestId()));
+            }
+        } catch (RuntimeException e) {
+            // Nothing of the chunk was written; rows not rejected as duplicates failed with it
+            results.removeIf(result -> result.getStatus() != ImportRowResult.Status.DUPLICATE);
+            Set<Long> reported = new HashSet<>();
+            results.forEach(result -> reported.add(result.getRow()));
+            for (PendingGuest pending : chunk) {
+                if (!reported.contains(pending.row())) {
+                    results.add(ImportRowResult.rejected(pending.row(), ImportRowResult.Status.FAILED,
+                            "Chunk rolled back: " + e.getMessage()));
+                }
+            }
+            toSave.clear();
+        } finally {
+            entityManager.clear();
+        }
+        // Empty unless the chunk committed
+        guestSearchIndex.putAll(toSave.stream().map(PendingGuest::guest).toList());
+        for (ImportRowResult result : results) {
+            writeRow(writer, output, result);
+        }
+        output.flush();
+        return toSave.size();
+    }
+    
+    private void writeRow(ObjectWriter writer, OutputStream output, ImportRowResult result) throws IOException {
+        writer.writeValue(output, result);
+        output.write('\n');
+    }
+    
+    private static Map<String, Integer> readCsvHeader(String header) {
+        if (header == null) {
+            return Map.of();
+        }
+        // Spreadsheet exports often start with a byte order mark
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("phone") || !columns.containsKey("email")) {
+            throw new RuntimeException("CSV header must contain name, phone and email columns");
+        }
+        return columns;
+    }
+    
+    private static Guest parseCsvGuest(String line, Map<String, Integer> columns) {
+        List<String> fields = parseCsvLine(line);
+        Guest guest = new Guest();
+        guest.setName(csvField(fields, columns.get("name")));
+        guest.setPhone(csvField(fields, columns.get("phone")));
+        guest.setEmail(csvField(fields, columns.get("email")));
+        guest.setAddress(csvField(fields, columns.get("address")));
+        return guest;
+    }
+    
+    private static String csvField(List<String> fields, Integer column) {
+        return column != null && column < fields.size() ? fields.get(column).trim() : null;
+    }
+    
+    // RFC 4180 fields on one line: quoted fields may contain commas and doubled quotes
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    // Matches the case-insensitive collation of the unique email index
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
+    private record PendingGuest(long row, Guest guest) {}
 }
\ No newline at end of file
@@ -2,12 +2,17 @@ package com.examly.springapp.service;
 
 import com.examly.springapp.model.User;
 import com.examly.springapp.repository.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
 
 @Service
@@ -16,15 +21,48 @@ public class MyUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepo userRepo;
 
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    // Holds immutable snapshots rather than UserDetails, because Spring Security
+    // erases the password of the UserDetails instance it authenticated
+    private Cache<String, CachedUser> users;
+
+    @PostConstruct
+    public void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        CachedUser cached = users.get(username, this::loadFromDatabase);
+        if (cached == null) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
 
         return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
+                cached.username(),
+                cached.password(),
                 Collections.emptyList()
         );
     }
-}
+
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+
+    // Unknown usernames return null, which Caffeine does not cache
+    private CachedUser loadFromDatabase(String username) {
+        return userRepo.findByUsername(username)
+                .map(user -> new CachedUser(user.getUsername(), user.getPassword()))
+                .orElse(null);
+    }
+
+    private record CachedUser(String username, String password) {}
+}
\ No newline at end of file
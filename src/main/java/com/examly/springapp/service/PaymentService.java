@@ -1,9 +1,11 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.BulkImportResult;
 import com.examly.springapp.model.Booking;
 import com.examly.springapp.model.Payment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -46,7 +48,11 @@ public interface PaymentService {
     
     Page<Payment> getPaymentsByStatus(Payment.PaymentStatus status, Pageable pageable);
     
+    Slice<Payment> getPaymentsBefore(LocalDateTime paymentDate, Long paymentId, int limit);
+    
     long getPaymentsCountByStatus(Payment.PaymentStatus status);
     
     Optional<Payment> getPaymentByTransactionId(String transactionId);
+    
+    BulkImportResult importPayments(List<Payment> payments);
 }
\ No newline at end of file
@@ -1,18 +1,32 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.BulkImportResult;
 import com.examly.springapp.model.Booking;
 import com.examly.springapp.model.Payment;
+import com.examly.springapp.repository.BookingRepo;
 import com.examly.springapp.repository.PaymentRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -22,6 +36,21 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private PaymentRepo paymentRepo;
     
+    @Autowired
+    private BookingRepo bookingRepo;
+    
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.import.chunk-size:500}")
+    private int importChunkSize;
+    
     @Override
     public Payment createPayment(Payment payment) {
         // Validate payment amount
@@ -31,11 +60,13 @@ public class PaymentServiceImpl implements PaymentService {
         
         // Generate transaction ID if not provided
         if (payment.getTransactionId() == null || payment.getTransactionId().isEmpty()) {
-            payment.setTransactionId("TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+            payment.setTransactionId(newTransactionId());
         }
         
         payment.setPaymentDate(LocalDateTime.now());
-        return paymentRepo.save(payment);
+        Payment savedPayment = paymentRepo.save(payment);
+        dashboardAggregates.paymentAdded(savedPayment);
+        return savedPayment;
     }
     
     @Override
@@ -60,6 +91,7 @@ public class PaymentServiceImpl implements PaymentService {
             if (payment.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
                 throw new RuntimeException("Payment amount must be greater than zero");
             }
+            DashboardAggregates.PaymentSnapshot before = dashboardAggregates.snapshot(paymentToUpdate);
             
             paymentToUpdate.setAmount(payment.getAmount());
             paymentToUpdate.setPaymentMethod(payment.getPaymentMethod());
@@ -69,17 +101,19 @@ public class PaymentServiceImpl implements PaymentService {
             paymentToUpdate.setNotes(payment.getNotes());
             paymentToUpdate.setBooking(payment.getBooking());
             
-            return paymentRepo.save(paymentToUpdate);
+            Payment savedPayment = paymentRepo.save(paymentToUpdate);
+            dashboardAggregates.paymentChanged(before, savedPayment);
+            return savedPayment;
         }
         throw new RuntimeException("Payment not found with id: " + paymentId);
     }
     
     @Override
     public void deletePayment(Long paymentId) {
-        if (!paymentRepo.existsById(paymentId)) {
-            throw new RuntimeException("Payment not found with id: " + paymentId);
-        }
-        paymentRepo.deleteById(paymentId);
+        Payment payment = paymentRepo.findById(paymentId)
+                .orElseThrow(() -> new RuntimeException("Payment not found with id: " + paymentId));
+        dashboardAggregates.paymentRemoved(payment);
+        paymentRepo.delete(payment);
     }
     
     @Override
@@ -117,8 +151,11 @@ public class PaymentServiceImpl implements PaymentService {
         Optional<Payment> paymentOpt = paymentRepo.findById(paymentId);
         if (paymentOpt.isPresent()) {
             Payment payment = paymentOpt.get();
+            DashboardAggregates.PaymentSnapshot before = dashboardAggregates.snapshot(payment);
             payment.setStatus(status);
-            return paymentRepo.save(payment);
+            Payment savedPayment = paymentRepo.save(payment);
+            dashboardAggregates.paymentChanged(before, savedPayment);
+            return savedPayment;
         }
         throw new RuntimeException("Payment not found with id: " + paymentId);
     }
@@ -134,10 +171,13 @@ public class PaymentServiceImpl implements PaymentService {
             }
             
             // Simulate payment processing logic
+            DashboardAggregates.PaymentSnapshot before = dashboardAggregates.snapshot(payment);
             payment.setStatus(Payment.PaymentStatus.COMPLETED);
             payment.setPaymentDate(LocalDateTime.now());
             
-            return paymentRepo.save(payment);
+            Payment savedPayment = paymentRepo.save(payment);
+            dashboardAggregates.paymentChanged(before, savedPayment);
+            return savedPayment;
         }
         throw new RuntimeException("Payment not found with id: " + paymentId);
     }
@@ -152,8 +192,11 @@ public class PaymentServiceImpl implements PaymentService {
                 throw new RuntimeException("Only completed payments can be refunded");
             }
             
+            DashboardAggregates.PaymentSnapshot before = dashboardAggregates.snapshot(payment);
             payment.setStatus(Payment.PaymentStatus.REFUNDED);
-            return paymentRepo.save(payment);
+            Payment savedPayment = paymentRepo.save(payment);
+            dashboardAggregates.paymentChanged(before, savedPayment);
+            return savedPayment;
         }
         throw new RuntimeException("Payment not found with id: " + paymentId);
     }
@@ -161,8 +204,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getTotalCompletedPayments() {
-        BigDecimal total = paymentRepo.getTotalCompletedPayments();
-        return total != null ? total : BigDecimal.ZERO;
+        return dashboardAggregates.paymentTotal(Payment.PaymentStatus.COMPLETED);
     }
     
     @Override
@@ -184,10 +226,20 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepo.findByStatus(status, pageable);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Payment> getPaymentsBefore(LocalDateTime paymentDate, Long paymentId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (paymentDate == null || paymentId == null) {
+            return paymentRepo.findLatestPayments(pageable);
+        }
+        return paymentRepo.findPaymentsBefore(paymentDate, paymentId, pageable);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public long getPaymentsCountByStatus(Payment.PaymentStatus status) {
-        return paymentRepo.countByStatus(status);
+        return dashboardAggregates.paymentCount(status);
     }
     
     @Override
@@ -195,4 +247,90 @@ public class PaymentServiceImpl implements PaymentService {
     public Optional<Payment> getPaymentByTransactionId(String transactionId) {
         return paymentRepo.findByTransactionId(transactionId);
     }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResult importPayments(List<Payment> payments) {
+        BulkImportResult result = new BulkImportResult(payments.size());
+        for (int from = 0; from < payments.size(); from += importChunkSize) {
+            int offset = from;
+            List<Payment> chunk = payments.subList(from, Math.min(from + importChunkSize, payments.size()));
+            Map<Integer, String> errors = new TreeMap<>();
+            List<Integer> accepted = new ArrayList<>();
+            try {
+                // One transaction per chunk: a failing chunk does not undo the chunks before it
+                transactionTemplate.executeWithoutResult(status -> importPaymentChunk(chunk, offset, errors, accepted));
+                result.addImported(accepted.size());
+            } catch (RuntimeException e) {
+                // Nothing of the chunk was written; rows without their own error failed with it
+                for (int i = 0; i < chunk.size(); i++) {
+                    errors.putIfAbsent(offset + i, "Chunk rolled back: " + e.getMessage());
+                }
+            } finally {
+                entityManager.clear();
+            }
+            errors.forEach(result::addError);
+        }
+        return result;
+    }
+    
+    private void importPaymentChunk(List<Payment> chunk, int offset, Map<Integer, String> errors,
+                                    List<Integer> accepted) {
+        Set<Long> bookingIds = new HashSet<>();
+        for (Payment payment : chunk) {
+            if (payment.getBooking() != null && payment.getBooking().getBookingId() != null) {
+                bookingIds.add(payment.getBooking().getBookingId());
+            }
+        }
+        Set<Long> existingBookingIds = bookingIds.isEmpty() ? Set.of()
+                : new HashSet<>(bookingRepo.findExistingIds(bookingIds));
+        
+        List<Payment> toSave = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Payment payment = chunk.get(i);
+            String error = validateImportedPayment(payment, existingBookingIds);
+            if (error != null) {
+                errors.put(offset + i, error);
+                continue;
+            }
+            payment.setPaymentId(null);
+            payment.setBooking(bookingRepo.getReferenceById(payment.getBooking().getBookingId()));
+            if (payment.getStatus() == null) {
+                payment.setStatus(Payment.PaymentStatus.PENDING);
+            }
+            if (payment.getPaymentDate() == null) {
+                payment.setPaymentDate(LocalDateTime.now());
+            }
+            if (payment.getTransactionId() == null || payment.getTransactionId().isEmpty()) {
+                payment.setTransactionId(newTransactionId());
+            }
+            toSave.add(payment);
+            accepted.add(offset + i);
+        }
+        
+        // Pooled ids and hibernate.jdbc.batch_size turn these into batched multi-row inserts
+        paymentRepo.saveAll(toSave);
+        paymentRepo.flush();
+        dashboardAggregates.paymentsAdded(toSave);
+    }
+    
+    private String validateImportedPayment(Payment payment, Set<Long> existingBookingIds) {
+        if (payment.getAmount() == null || payment.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Payment amount must be greater than zero";
+        }
+        if (payment.getPaymentMethod() == null) {
+            return "Payment method is required";
+        }
+        if (payment.getBooking() == null || payment.getBooking().getBookingId() == null) {
+            return "Booking is required";
+        }
+        if (!existingBookingIds.contains(payment.getBooking().getBookingId())) {
+            return "Booking not found";
+        }
+        return null;
+    }
+    
+    private static String newTransactionId() {
+        return "TXN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
 }
\ No newline at end of file
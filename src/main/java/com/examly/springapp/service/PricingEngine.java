@@ -0,0 +1,235 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.PriceQuote;
+import com.examly.springapp.model.RateRule;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.repository.RateRuleRepo;
+import com.examly.springapp.repository.RoomRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed nightly rate tables used to quote stays.
+ *
+ * The nightly rate of a room is its current price (pricePerNight plus seasonalRate,
+ * times dynamicPriceMultiplier) passed through every RateRule covering that night, in
+ * start date order. Rules are folded per category into one multiplier and adjustment
+ * per night, and each room gets a table of final rates for the next horizon-days
+ * nights, so a quote is a sum of array entries.
+ *
+ * Tables are rebuilt to start from the new day at midnight and are refreshed by
+ * RoomServiceImpl and RateRuleServiceImpl after commit. Nights outside a table, or a
+ * room whose price in the current transaction no longer matches its table, are priced
+ * directly from the rules.
+ */
+@Component
+public class PricingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingEngine.class);
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private RateRuleRepo rateRuleRepo;
+
+    @Value("${app.pricing.horizon-days:365}")
+    private int horizonDays;
+
+    private final Map<Long, RateTable> tablesByRoom = new ConcurrentHashMap<>();
+
+    private final Map<Long, Adjustment[]> adjustmentsByCategory = new ConcurrentHashMap<>();
+
+    private volatile List<RuleSnapshot> rules = Collections.emptyList();
+
+    private volatile LocalDate horizonStart = LocalDate.now();
+
+    @PostConstruct
+    public void rebuild() {
+        rebuild(LocalDate.now());
+    }
+
+    /**
+     * Moves the horizon to start today, so tables keep covering the next horizon-days
+     * nights however long the application runs.
+     */
+    @Scheduled(cron = "${app.pricing.horizon-roll-cron:0 0 0 * * *}")
+    public void rollHorizon() {
+        if (LocalDate.now().isAfter(horizonStart)) {
+            rebuild();
+        }
+    }
+
+    synchronized void rebuild(LocalDate start) {
+        horizonStart = start;
+        loadRules();
+
+        List<Room> rooms = roomRepo.findAll();
+        Set<Long> roomIds = new HashSet<>();
+        for (Room room : rooms) {
+            putTable(room.getRoomId(), room.getRoomCategory().getCategoryId(), room.getCurrentPrice());
+            roomIds.add(room.getRoomId());
+        }
+        // Tables are replaced one at a time, so quotes keep using the previous ones meanwhile
+        tablesByRoom.keySet().retainAll(roomIds);
+        logger.info("Pricing engine built {}-night rate tables from {} for {} rooms with {} rules",
+                horizonDays, start, rooms.size(), rules.size());
+    }
+
+    /**
+     * Recomputes the table of one room after its price or category changed.
+     */
+    public synchronized void refreshRoom(Long roomId, Long categoryId, BigDecimal currentPrice) {
+        putTable(roomId, categoryId, currentPrice);
+    }
+
+    public void removeRoom(Long roomId) {
+        tablesByRoom.remove(roomId);
+    }
+
+    /**
+     * Reloads the rate rules and recomputes every table from the prices it was built with.
+     */
+    public synchronized void refreshRules() {
+        loadRules();
+        for (Map.Entry<Long, RateTable> entry : tablesByRoom.entrySet()) {
+            RateTable table = entry.getValue();
+            putTable(entry.getKey(), table.categoryId(), table.basePrice());
+        }
+    }
+
+    /**
+     * Whether the night is priced from the precomputed table of the room.
+     */
+    public boolean covers(Long roomId, LocalDate night) {
+        RateTable table = tablesByRoom.get(roomId);
+        return table != null && table.rateOn(night) != null;
+    }
+
+    /**
+     * Quotes a stay in the given room. As for bookings, a stay is charged at least one night.
+     */
+    public PriceQuote quote(Room room, LocalDate checkIn, LocalDate checkOut) {
+        long nights = Math.max(1, ChronoUnit.DAYS.between(checkIn, checkOut));
+        BigDecimal basePrice = room.getCurrentPrice();
+        Long categoryId = room.getRoomCategory().getCategoryId();
+
+        RateTable table = tablesByRoom.get(room.getRoomId());
+        if (table != null && (table.basePrice().compareTo(basePrice) != 0
+                || !Objects.equals(table.categoryId(), categoryId))) {
+            // The room was changed in this transaction or the refresh has not run yet
+            table = null;
+        }
+
+        List<BigDecimal> nightlyRates = new ArrayList<>((int) nights);
+        BigDecimal total = BigDecimal.ZERO;
+        LocalDate night = checkIn;
+        for (long i = 0; i < nights; i++) {
+            BigDecimal rate = table != null ? table.rateOn(night) : null;
+            if (rate == null) {
+                rate = rateOn(basePrice, categoryId, night);
+            }
+            nightlyRates.add(rate);
+            total = total.add(rate);
+            night = night.plusDays(1);
+        }
+        return new PriceQuote(room.getRoomId(), checkIn, checkOut, nightlyRates, total);
+    }
+
+    private void loadRules() {
+        List<RuleSnapshot> loaded = new ArrayList<>();
+        for (RateRule rule : rateRuleRepo.findAllOrderByStartDate()) {
+            Long categoryId = rule.getRoomCategory() != null ? rule.getRoomCategory().getCategoryId() : null;
+            loaded.add(new RuleSnapshot(categoryId, rule.getStartDate(), rule.getEndDate(),
+                    rule.getMultiplier(), rule.getAdjustment()));
+        }
+        rules = List.copyOf(loaded);
+        adjustmentsByCategory.clear();
+    }
+
+    private void putTable(Long roomId, Long categoryId, BigDecimal basePrice) {
+        Adjustment[] adjustments = adjustmentsByCategory.computeIfAbsent(categoryId, this::foldRules);
+        BigDecimal[] nightly = new BigDecimal[adjustments.length];
+        for (int i = 0; i < adjustments.length; i++) {
+            nightly[i] = adjustments[i].apply(basePrice);
+        }
+        tablesByRoom.put(roomId, new RateTable(horizonStart, categoryId, basePrice, nightly));
+    }
+
+    // One combined adjustment per night of the horizon for the rooms of a category
+    private Adjustment[] foldRules(Long categoryId) {
+        Adjustment[] adjustments = new Adjustment[horizonDays];
+        LocalDate start = horizonStart;
+        for (int i = 0; i < horizonDays; i++) {
+            adjustments[i] = adjustmentOn(categoryId, start.plusDays(i));
+        }
+        return adjustments;
+    }
+
+    private BigDecimal rateOn(BigDecimal basePrice, Long categoryId, LocalDate night) {
+        return adjustmentOn(categoryId, night).apply(basePrice);
+    }
+
+    private Adjustment adjustmentOn(Long categoryId, LocalDate night) {
+        Adjustment adjustment = Adjustment.NONE;
+        for (RuleSnapshot rule : rules) {
+            if (rule.appliesTo(categoryId, night)) {
+                adjustment = adjustment.then(rule.multiplier(), rule.adjustment());
+            }
+        }
+        return adjustment;
+    }
+
+    private record RuleSnapshot(Long categoryId, LocalDate startDate, LocalDate endDate,
+                                BigDecimal multiplier, BigDecimal adjustment) {
+
+        boolean appliesTo(Long roomCategoryId, LocalDate night) {
+            return (categoryId == null || categoryId.equals(roomCategoryId))
+                    && !night.isBefore(startDate) && !night.isAfter(endDate);
+        }
+    }
+
+    /**
+     * rate * multiplier + offset. Applying rules one after another composes into a
+     * single adjustment, which is what lets a category share one array.
+     */
+    private record Adjustment(BigDecimal multiplier, BigDecimal offset) {
+
+        static final Adjustment NONE = new Adjustment(BigDecimal.ONE, BigDecimal.ZERO);
+
+        Adjustment then(BigDecimal nextMultiplier, BigDecimal nextOffset) {
+            return new Adjustment(multiplier.multiply(nextMultiplier),
+                    offset.multiply(nextMultiplier).add(nextOffset));
+        }
+
+        BigDecimal apply(BigDecimal rate) {
+            return rate.multiply(multiplier).add(offset).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+
+    private record RateTable(LocalDate start, Long categoryId, BigDecimal basePrice, BigDecimal[] nightly) {
+
+        BigDecimal rateOn(LocalDate night) {
+            long index = ChronoUnit.DAYS.between(start, night);
+            return index >= 0 && index < nightly.length ? nightly[(int) index] : null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.RateRule;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RateRuleService {
+    
+    RateRule createRateRule(RateRule rateRule);
+    
+    List<RateRule> getAllRateRules();
+    
+    Optional<RateRule> getRateRuleById(Long ruleId);
+    
+    RateRule updateRateRule(Long ruleId, RateRule rateRule);
+    
+    void deleteRateRule(Long ruleId);
+}
\ No newline at end of file
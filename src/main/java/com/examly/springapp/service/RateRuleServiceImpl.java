@@ -0,0 +1,104 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.model.RateRule;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.RateRuleRepo;
+import com.examly.springapp.repository.RoomCategoryRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class RateRuleServiceImpl implements RateRuleService {
+    
+    @Autowired
+    private RateRuleRepo rateRuleRepo;
+    
+    @Autowired
+    private RoomCategoryRepo roomCategoryRepo;
+    
+    @Autowired
+    private PricingEngine pricingEngine;
+    
+    @Override
+    public RateRule createRateRule(RateRule rateRule) {
+        validate(rateRule);
+        rateRule.setRoomCategory(resolveCategory(rateRule.getRoomCategory()));
+        RateRule savedRule = rateRuleRepo.save(rateRule);
+        TransactionCallbacks.afterCommit(pricingEngine::refreshRules);
+        return savedRule;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<RateRule> getAllRateRules() {
+        return rateRuleRepo.findAllOrderByStartDate();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RateRule> getRateRuleById(Long ruleId) {
+        return rateRuleRepo.findById(ruleId);
+    }
+    
+    @Override
+    public RateRule updateRateRule(Long ruleId, RateRule rateRule) {
+        RateRule ruleToUpdate = rateRuleRepo.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("Rate rule not found with id: " + ruleId));
+        validate(rateRule);
+        
+        ruleToUpdate.setName(rateRule.getName());
+        ruleToUpdate.setStartDate(rateRule.getStartDate());
+        ruleToUpdate.setEndDate(rateRule.getEndDate());
+        ruleToUpdate.setMultiplier(rateRule.getMultiplier());
+        ruleToUpdate.setAdjustment(rateRule.getAdjustment());
+        ruleToUpdate.setRoomCategory(resolveCategory(rateRule.getRoomCategory()));
+        
+        RateRule savedRule = rateRuleRepo.save(ruleToUpdate);
+        TransactionCallbacks.afterCommit(pricingEngine::refreshRules);
+        return savedRule;
+    }
+    
+    @Override
+    public void deleteRateRule(Long ruleId) {
+        if (!rateRuleRepo.existsById(ruleId)) {
+            throw new RuntimeException("Rate rule not found with id: " + ruleId);
+        }
+        rateRuleRepo.deleteById(ruleId);
+        TransactionCallbacks.afterCommit(pricingEngine::refreshRules);
+    }
+    
+    private void validate(RateRule rateRule) {
+        if (rateRule.getName() == null || rateRule.getName().trim().isEmpty()) {
+            throw new RuntimeException("Rate rule name is required");
+        }
+        if (rateRule.getStartDate() == null || rateRule.getEndDate() == null) {
+            throw new RuntimeException("Rate rule start and end dates are required");
+        }
+        if (rateRule.getStartDate().isAfter(rateRule.getEndDate())) {
+            throw new RuntimeException("Rate rule start date cannot be after end date");
+        }
+        if (rateRule.getMultiplier() == null) {
+            rateRule.setMultiplier(BigDecimal.ONE);
+        }
+        if (rateRule.getAdjustment() == null) {
+            rateRule.setAdjustment(BigDecimal.ZERO);
+        }
+        if (rateRule.getMultiplier().signum() <= 0) {
+            throw new RuntimeException("Rate rule multiplier must be positive");
+        }
+    }
+    
+    private RoomCategory resolveCategory(RoomCategory category) {
+        if (category == null || category.getCategoryId() == null) {
+            return null;
+        }
+        return roomCategoryRepo.findById(category.getCategoryId())
+                .orElseThrow(() -> new RuntimeException("Room category not found with id: " + category.getCategoryId()));
+    }
+}
\ No newline at end of file
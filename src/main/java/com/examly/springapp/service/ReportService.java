@@ -0,0 +1,17 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CancellationReport;
+import com.examly.springapp.dto.CategoryOccupancyReport;
+import com.examly.springapp.dto.DailyRevenue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+    
+    List<CategoryOccupancyReport> getOccupancyReport(LocalDate startDate, LocalDate endDate);
+    
+    List<DailyRevenue> getRevenueReport(LocalDate startDate, LocalDate endDate);
+    
+    CancellationReport getCancellationReport(LocalDate startDate, LocalDate endDate);
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.CancellationCounts;
+import com.examly.springapp.dto.CancellationReport;
+import com.examly.springapp.dto.CategoryOccupancyReport;
+import com.examly.springapp.dto.CategoryRoomCount;
+import com.examly.springapp.dto.DailyRevenue;
+import com.examly.springapp.model.Payment;
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.PaymentDailyAggregateRepo;
+import com.examly.springapp.repository.RoomCategoryRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports aggregated in the database. Occupancy runs one bucketed query per room
+ * category on a small dedicated pool, each on its own connection, so a report costs
+ * about as long as its largest category. Revenue reads the daily payment aggregates
+ * maintained by DashboardAggregates.
+ */
+@Service
+public class ReportServiceImpl implements ReportService {
+    
+    @Autowired
+    private BookingRepo bookingRepo;
+    
+    @Autowired
+    private RoomCategoryRepo roomCategoryRepo;
+    
+    @Autowired
+    private PaymentDailyAggregateRepo paymentDailyAggregateRepo;
+    
+    @Value("${app.reports.parallelism:4}")
+    private int parallelism;
+    
+    // The night series is a recursive CTE, bounded by MySQL's cte_max_recursion_depth (1000)
+    @Value("${app.reports.max-days:731}")
+    private int maxDays;
+    
+    private ExecutorService reportExecutor;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "report-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        reportExecutor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        reportExecutor.shutdownNow();
+    }
+    
+    @Override
+    public List<CategoryOccupancyReport> getOccupancyReport(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        List<CompletableFuture<CategoryOccupancyReport>> reports = roomCategoryRepo.findRoomCounts().stream()
+                .map(category -> CompletableFuture.supplyAsync(() -> occupancyOf(category, startDate, endDate),
+                        reportExecutor))
+                .toList();
+        try {
+            return reports.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            reports.forEach(report -> report.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyRevenue> getRevenueReport(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return paymentDailyAggregateRepo.findDailyRevenue(Payment.PaymentStatus.COMPLETED, startDate, endDate);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CancellationReport getCancellationReport(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        CancellationCounts counts = bookingRepo.findCancellationCounts(startDate, endDate);
+        return new CancellationReport(startDate, endDate, counts.getTotalBookings().longValue(),
+                counts.getCancelledBookings().longValue());
+    }
+    
+    private CategoryOccupancyReport occupancyOf(CategoryRoomCount category, LocalDate startDate, LocalDate endDate) {
+        return new CategoryOccupancyReport(category.getCategoryId(), category.getCategoryName(),
+                category.getRoomCount().longValue(),
+                bookingRepo.findNightlyOccupancy(category.getCategoryId(), startDate, endDate));
+    }
+    
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new RuntimeException("Reports cover at most " + maxDays + " days");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.BookingStay;
+import com.examly.springapp.repository.BookingRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the non-cancelled stays of every room, used to answer
+ * availability checks without querying the bookings table.
+ *
+ * The index is loaded at startup with every stay ending on or after the load
+ * date (the horizon start) and is kept in sync by BookingServiceImpl after each
+ * committed write. Every night the horizon start moves to the new day and stays
+ * that ended before it are dropped, since no covered check can conflict with them.
+ * Checks for stays starting before the horizon are not covered and must fall back
+ * to the database.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    private final Map<Long, RoomStays> staysByRoom = new ConcurrentHashMap<>();
+
+    private final Map<Long, Long> roomByBooking = new ConcurrentHashMap<>();
+
+    private volatile LocalDate horizonStart;
+
+    @PostConstruct
+    public void rebuild() {
+        rebuild(LocalDate.now());
+    }
+
+    synchronized void rebuild(LocalDate today) {
+        horizonStart = null;
+        staysByRoom.clear();
+        roomByBooking.clear();
+
+        List<BookingStay> stays = bookingRepo.findActiveStaysEndingOnOrAfter(today);
+        for (BookingStay stay : stays) {
+            put(stay.getBookingId(), stay.getRoomId(), stay.getCheckInDate(), stay.getCheckOutDate());
+        }
+        horizonStart = today;
+        logger.info("Room availability index loaded with {} stays across {} rooms", stays.size(), staysByRoom.size());
+    }
+
+    @Scheduled(cron = "${app.availability.prune-cron:0 0 0 * * *}")
+    public void prune() {
+        prune(LocalDate.now());
+    }
+
+    synchronized void prune(LocalDate today) {
+        LocalDate start = horizonStart;
+        if (start == null || !today.isAfter(start)) {
+            return;
+        }
+        // Checks starting before today go to the database before their stays are dropped
+        horizonStart = today;
+        int pruned = 0;
+        for (RoomStays stays : staysByRoom.values()) {
+            for (Long bookingId : stays.removeEndedBefore(today)) {
+                roomByBooking.remove(bookingId);
+                pruned++;
+            }
+        }
+        staysByRoom.values().removeIf(RoomStays::isEmpty);
+        logger.info("Room availability index moved to {}, dropping {} past stays", today, pruned);
+    }
+
+    // Number of stays held, for tests
+    int size() {
+        return roomByBooking.size();
+    }
+
+    /**
+     * Whether a check for a stay starting on the given date can be answered from the index.
+     */
+    public boolean covers(LocalDate checkIn) {
+        LocalDate start = horizonStart;
+        return start != null && checkIn != null && !checkIn.isBefore(start);
+    }
+
+    /**
+     * Same overlap rule as BookingRepo.findConflictingBookings: a stay conflicts when
+     * it starts on or before checkOut and ends on or after checkIn.
+     */
+    public boolean hasConflict(Long roomId, LocalDate checkIn, LocalDate checkOut, Long excludeBookingId) {
+        RoomStays stays = staysByRoom.get(roomId);
+        return stays != null && stays.overlaps(checkIn, checkOut, excludeBookingId);
+    }
+
+    // Writes are serialized with prune, which must not drop a booking another write just moved
+    public synchronized void put(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        remove(bookingId);
+        roomByBooking.put(bookingId, roomId);
+        staysByRoom.computeIfAbsent(roomId, id -> new RoomStays()).add(new Stay(bookingId, checkIn, checkOut));
+    }
+
+    public synchronized void remove(Long bookingId) {
+        Long roomId = roomByBooking.remove(bookingId);
+        if (roomId != null) {
+            RoomStays stays = staysByRoom.get(roomId);
+            if (stays != null) {
+                stays.remove(bookingId);
+            }
+        }
+    }
+
+    public synchronized void removeAll(Collection<Long> bookingIds) {
+        bookingIds.forEach(this::remove);
+    }
+
+    public synchronized void removeRoom(Long roomId) {
+        staysByRoom.remove(roomId);
+        roomByBooking.values().removeIf(roomId::equals);
+    }
+
+    private record Stay(Long bookingId, LocalDate checkIn, LocalDate checkOut) {}
+
+    /**
+     * Stays of a single room ordered by check-in date. Lookups only scan stays whose
+     * check-in falls within the longest stay seen for the room, so a check costs
+     * O(log n) plus the handful of neighbouring stays.
+     */
+    private static final class RoomStays {
+
+        private final TreeMap<LocalDate, List<Stay>> byCheckIn = new TreeMap<>();
+
+        private final Map<Long, Stay> byBooking = new HashMap<>();
+
+        private long longestStayDays;
+
+        synchronized void add(Stay stay) {
+            byBooking.put(stay.bookingId(), stay);
+            byCheckIn.computeIfAbsent(stay.checkIn(), date -> new ArrayList<>(1)).add(stay);
+            longestStayDays = Math.max(longestStayDays, ChronoUnit.DAYS.between(stay.checkIn(), stay.checkOut()));
+        }
+
+        synchronized void remove(Long bookingId) {
+            Stay stay = byBooking.remove(bookingId);
+            if (stay == null) {
+                return;
+            }
+            List<Stay> sameDay = byCheckIn.get(stay.checkIn());
+            if (sameDay != null) {
+                sameDay.remove(stay);
+                if (sameDay.isEmpty()) {
+                    byCheckIn.remove(stay.checkIn());
+                }
+            }
+        }
+
+        // Removes the stays that checked out before the date and returns their booking ids
+        synchronized List<Long> removeEndedBefore(LocalDate date) {
+            List<Long> removed = new ArrayList<>();
+            Iterator<List<Stay>> days = byCheckIn.headMap(date, false).values().iterator();
+            while (days.hasNext()) {
+                List<Stay> sameDay = days.next();
+                sameDay.removeIf(stay -> {
+                    if (!stay.checkOut().isBefore(date)) {
+                        return false;
+                    }
+                    byBooking.remove(stay.bookingId());
+                    removed.add(stay.bookingId());
+                    return true;
+                });
+                if (sameDay.isEmpty()) {
+                    days.remove();
+                }
+            }
+            return removed;
+        }
+
+        synchronized boolean isEmpty() {
+            return byBooking.isEmpty();
+        }
+
+        synchronized boolean overlaps(LocalDate checkIn, LocalDate checkOut, Long excludeBookingId) {
+            LocalDate earliestCheckIn = checkIn.minusDays(longestStayDays);
+            if (earliestCheckIn.isAfter(checkOut)) {
+                return false;
+            }
+            for (List<Stay> stays : byCheckIn.subMap(earliestCheckIn, true, checkOut, true).values()) {
+                for (Stay stay : stays) {
+                    if (!stay.bookingId().equals(excludeBookingId) && !stay.checkOut().isBefore(checkIn)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
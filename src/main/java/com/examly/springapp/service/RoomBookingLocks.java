@@ -0,0 +1,114 @@
+package com.examly.springapp.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-room locks that serialise the check-then-insert of bookings for the
+ * same room while letting bookings for other rooms proceed in parallel.
+ *
+ * The locks wrap the whole booking transaction: they are taken before it begins and
+ * released after it has committed and the availability index has been updated, so the
+ * next writer for the room always sees the new booking. A writer waiting for a busy
+ * room (up to app.booking.lock-timeout-ms) therefore holds no pooled connection, only
+ * its request thread.
+ *
+ * Booking, payment and guest ids come from table-backed pooled sequences, and Hibernate
+ * refills them on a second pooled connection while the writer keeps its own. Writers
+ * queue behind that refill, so if they held every connection in the pool the refill
+ * could never get one. At most maximum-pool-size - 1 writers therefore run at once.
+ */
+@Component
+public class RoomBookingLocks {
+
+    @Value("${app.booking.lock-stripes:256}")
+    private int stripeCount;
+
+    @Value("${app.booking.lock-timeout-ms:10000}")
+    private long lockTimeoutMs;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    private ReentrantLock[] stripes;
+
+    private Semaphore writers;
+
+    @PostConstruct
+    public void init() {
+        writers = new Semaphore(Math.max(1, maximumPoolSize - 1), true);
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * The lock stripe of a room. Rooms on the same stripe block each other's bookings.
+     */
+    public int stripeOf(Long roomId) {
+        return Math.floorMod(roomId.hashCode(), stripes.length);
+    }
+
+    /**
+     * Runs the action, which starts and commits its own transaction, with the stripes of
+     * all given rooms locked. All rooms the action writes to must be passed in a single
+     * call, since stripes are always acquired in ascending order to avoid deadlocks.
+     */
+    public <T> T callLocked(Collection<Long> roomIds, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Room locks must be taken before the transaction begins");
+        }
+
+        SortedSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Long roomId : roomIds) {
+            stripeIndexes.add(stripeOf(roomId));
+        }
+
+        Deque<ReentrantLock> acquired = new ArrayDeque<>(stripeIndexes.size());
+        boolean writing = false;
+        try {
+            if (!writers.tryAcquire(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Too many bookings in progress, please retry");
+            }
+            writing = true;
+            for (Integer index : stripeIndexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new RuntimeException("Room is busy with another booking, please retry");
+                }
+                acquired.push(lock);
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for room lock", e);
+        } finally {
+            while (!acquired.isEmpty()) {
+                acquired.pop().unlock();
+            }
+            if (writing) {
+                writers.release();
+            }
+        }
+    }
+
+    public void runLocked(Collection<Long> roomIds, Runnable action) {
+        callLocked(roomIds, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
\ No newline at end of file
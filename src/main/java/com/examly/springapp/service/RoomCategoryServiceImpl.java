@@ -1,8 +1,15 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.configuration.CacheConfig;
 import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.BookingRepo;
 import com.examly.springapp.repository.RoomCategoryRepo;
+import com.examly.springapp.repository.RoomRepo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,7 +25,33 @@ public class RoomCategoryServiceImpl implements RoomCategoryService {
     @Autowired
     private RoomCategoryRepo roomCategoryRepo;
     
+    @Autowired
+    private RoomRepo roomRepo;
+    
+    @Autowired
+    private BookingRepo bookingRepo;
+    
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+    
+    @Autowired
+    private PricingEngine pricingEngine;
+    
+    @Autowired
+    private RoomNumberIndex roomNumberIndex;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+    
     @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORIES, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORY_COUNT, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORY_BY_NAME, key = "#roomCategory.categoryName")
+    })
     public RoomCategory createRoomCategory(RoomCategory roomCategory) {
         if (roomCategoryRepo.existsByCategoryName(roomCategory.getCategoryName())) {
             throw new RuntimeException("Room category with name '" + roomCategory.getCategoryName() + "' already exists");
@@ -28,6 +61,7 @@ public class RoomCategoryServiceImpl implements RoomCategoryService {
     
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.ROOM_CATEGORIES)
     public List<RoomCategory> getAllRoomCategories() {
         return roomCategoryRepo.findAll();
     }
@@ -39,6 +73,12 @@ public class RoomCategoryServiceImpl implements RoomCategoryService {
     }
     
     @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORIES, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORY_BY_NAME, key = "#roomCategory.categoryName"),
+        // Cached rooms embed their category
+        @CacheEvict(cacheNames = CacheConfig.AVAILABLE_ROOMS, allEntries = true)
+    })
     public RoomCategory updateRoomCategory(Long categoryId, RoomCategory roomCategory) {
         Optional<RoomCategory> existingCategory = roomCategoryRepo.findById(categoryId);
         if (existingCategory.isPresent()) {
@@ -50,6 +90,11 @@ public class RoomCategoryServiceImpl implements RoomCategoryService {
                 throw new RuntimeException("Room category with name '" + roomCategory.getCategoryName() + "' already exists");
             }
             
+            // The new name is evicted by the annotation; the old one and the room lists
+            // cached under it are only known here
+            evict(CacheConfig.ROOM_CATEGORY_BY_NAME, category.getCategoryName());
+            evict(CacheConfig.ROOMS_BY_CATEGORY, category.getCategoryName());
+            evict(CacheConfig.ROOMS_BY_CATEGORY, roomCategory.getCategoryName());
             category.setCategoryName(roomCategory.getCategoryName());
             category.setDescription(roomCategory.getDescription());
             return roomCategoryRepo.save(category);
@@ -58,15 +103,36 @@ public class RoomCategoryServiceImpl implements RoomCategoryService {
     }
     
     @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORIES, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORY_COUNT, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOM_CATEGORY_BY_NAME, allEntries = true),
+        // Rooms of the category are removed by cascade
+        @CacheEvict(cacheNames = CacheConfig.AVAILABLE_ROOMS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOMS_BY_CATEGORY, allEntries = true)
+    })
     public void deleteRoomCategory(Long categoryId) {
         if (!roomCategoryRepo.existsById(categoryId)) {
             throw new RuntimeException("Room category not found with id: " + categoryId);
         }
+        // Rooms of the category, their bookings and payments are removed by cascade
+        List<Long> roomIds = roomRepo.findRoomIdsByCategoryId(categoryId);
+        dashboardAggregates.bookingsRemoved(bookingRepo.findBookingIdsByCategoryId(categoryId));
         roomCategoryRepo.deleteById(categoryId);
+        // Rate rules of the category are removed by cascade
+        TransactionCallbacks.afterCommit(() -> {
+            for (Long roomId : roomIds) {
+                availabilityIndex.removeRoom(roomId);
+                pricingEngine.removeRoom(roomId);
+            }
+            pricingEngine.refreshRules();
+            roomNumberIndex.removeCategory(categoryId);
+        });
     }
     
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.ROOM_CATEGORY_BY_NAME)
     public Optional<RoomCategory> getRoomCategoryByName(String categoryName) {
         return roomCategoryRepo.findByCategoryName(categoryName);
     }
@@ -91,7 +157,14 @@ public class RoomCategoryServiceImpl implements RoomCategoryService {
     
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.ROOM_CATEGORY_COUNT)
     public long getTotalCategoriesCount() {
         return roomCategoryRepo.countAllCategories();
     }
+    
+    private void evict(String cacheName, Object key) {
+        if (key != null) {
+            cacheManager.getCache(cacheName).evict(key);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.examly.springapp.service;
+
+import com.examly.springapp.dto.RoomSuggestion;
+import com.examly.springapp.repository.RoomRepo;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory sorted index of room numbers, used for typeahead lookups and room number
+ * existence checks without querying the rooms table.
+ *
+ * Keys are upper-cased room numbers, matching the case-insensitive collation of the
+ * unique room number index, so a prefix lookup is a walk of the sorted map from the
+ * prefix on. Reads take no locks; writes are serialized to keep the two maps in step.
+ * The index is loaded at startup and kept in sync by RoomServiceImpl and
+ * RoomCategoryServiceImpl after each committed write. It answers existence checks on
+ * its own unless app.rooms.number-index.authoritative is false, as it must be when
+ * other instances write rooms to the same database.
+ */
+@Component
+public class RoomNumberIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomNumberIndex.class);
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    private final ConcurrentSkipListMap<String, RoomSuggestion> roomsByNumber = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, String> numberByRoom = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        roomsByNumber.clear();
+        numberByRoom.clear();
+        List<RoomSuggestion> rooms = roomRepo.findRoomSuggestions();
+        rooms.forEach(this::put);
+        logger.info("Room number index loaded with {} rooms", rooms.size());
+    }
+
+    public synchronized void put(RoomSuggestion room) {
+        remove(room.getRoomId());
+        String key = key(room.getRoomNumber());
+        roomsByNumber.put(key, room);
+        numberByRoom.put(room.getRoomId(), key);
+    }
+
+    public synchronized void remove(Long roomId) {
+        String key = numberByRoom.remove(roomId);
+        if (key != null) {
+            // The number may already belong to another room whose write was applied first
+            roomsByNumber.computeIfPresent(key, (number, room) -> room.getRoomId().equals(roomId) ? null : room);
+        }
+    }
+
+    public synchronized void removeCategory(Long categoryId) {
+        List<Long> roomIds = new ArrayList<>();
+        for (RoomSuggestion room : roomsByNumber.values()) {
+            if (room.getCategoryId().equals(categoryId)) {
+                roomIds.add(room.getRoomId());
+            }
+        }
+        roomIds.forEach(this::remove);
+    }
+
+    public boolean contains(String roomNumber) {
+        return roomNumber != null && roomsByNumber.containsKey(key(roomNumber));
+    }
+
+    /**
+     * Up to limit rooms whose number starts with the prefix, ignoring case, in room
+     * number order. A blank prefix returns the first rooms.
+     */
+    public List<RoomSuggestion> suggest(String prefix, int limit) {
+        String from = prefix != null ? key(prefix.trim()) : "";
+        List<RoomSuggestion> suggestions = new ArrayList<>(Math.min(limit, 64));
+        for (Map.Entry<String, RoomSuggestion> entry : roomsByNumber.tailMap(from).entrySet()) {
+            if (suggestions.size() >= limit || !entry.getKey().startsWith(from)) {
+                break;
+            }
+            suggestions.add(entry.getValue());
+        }
+        return suggestions;
+    }
+
+    private static String key(String roomNumber) {
+        return roomNumber.toUpperCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -1,11 +1,16 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.dto.BulkPriceUpdate;
+import com.examly.springapp.dto.PriceQuote;
+import com.examly.springapp.dto.RoomSuggestion;
 import com.examly.springapp.model.Room;
 import com.examly.springapp.model.RoomCategory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +38,9 @@ public interface RoomService {
     
     List<Room> getAvailableRoomsByCategory(String categoryName);
     
+    List<Room> getBookableRooms(LocalDate checkIn, LocalDate checkOut, String categoryName,
+                                BigDecimal minPrice, BigDecimal maxPrice);
+    
     Room updateRoomAvailability(Long roomId, Boolean available);
     
     Room updateRoomPrice(Long roomId, BigDecimal newPrice);
@@ -41,9 +49,17 @@ public interface RoomService {
     
     Room applyDynamicPricing(Long roomId, BigDecimal multiplier);
     
+    int bulkUpdatePricing(BulkPriceUpdate update);
+    
+    PriceQuote getQuote(Long roomId, LocalDate checkIn, LocalDate checkOut);
+    
     Page<Room> getRoomsWithPagination(Pageable pageable);
     
     Page<Room> getAvailableRoomsWithPagination(Pageable pageable);
     
+    Slice<Room> getRoomsAfter(String roomNumber, int limit);
+    
     boolean existsByRoomNumber(String roomNumber);
+    
+    List<RoomSuggestion> suggestRooms(String prefix, int limit);
 }
\ No newline at end of file
@@ -1,16 +1,32 @@
 package com.examly.springapp.service;
 
+import com.examly.springapp.configuration.CacheConfig;
+import com.examly.springapp.dto.BulkPriceUpdate;
+import com.examly.springapp.dto.PriceQuote;
+import com.examly.springapp.dto.RoomSuggestion;
 import com.examly.springapp.model.Room;
 import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.BookingRepo;
 import com.examly.springapp.repository.RoomRepo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,13 +37,50 @@ public class RoomServiceImpl implements RoomService {
     @Autowired
     private RoomRepo roomRepo;
     
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomNumberIndex roomNumberIndex;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private DynamicPricingJob dynamicPricingJob;
+
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Value("${app.pricing.bulk-chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${app.pricing.dynamic.manual-override-hours:72}")
+    private long manualOverrideHours;
+
+    @Value("${app.rooms.number-index.authoritative:true}")
+    private boolean roomNumberIndexAuthoritative;
+    
     @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.AVAILABLE_ROOMS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOMS_BY_CATEGORY, allEntries = true)
+    })
     public Room createRoom(Room room) {
         if (roomRepo.existsByRoomNumber(room.getRoomNumber())) {
             throw new RuntimeException("Room with number '" + room.getRoomNumber() + "' already exists");
         }
         room.setLastPriceUpdate(LocalDateTime.now());
-        return roomRepo.save(room);
+        Room savedRoom = roomRepo.save(room);
+        syncPricing(savedRoom);
+        syncRoomNumber(savedRoom);
+        return savedRoom;
     }
     
     @Override
@@ -43,6 +96,10 @@ public class RoomServiceImpl implements RoomService {
     }
     
     @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.AVAILABLE_ROOMS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOMS_BY_CATEGORY, allEntries = true)
+    })
     public Room updateRoom(Long roomId, Room room) {
         Optional<Room> existingRoom = roomRepo.findById(roomId);
         if (existingRoom.isPresent()) {
@@ -62,17 +119,29 @@ public class RoomServiceImpl implements RoomService {
             roomToUpdate.setDynamicPriceMultiplier(room.getDynamicPriceMultiplier());
             roomToUpdate.setLastPriceUpdate(LocalDateTime.now());
             
-            return roomRepo.save(roomToUpdate);
+            Room savedRoom = roomRepo.save(roomToUpdate);
+            syncPricing(savedRoom);
+            syncRoomNumber(savedRoom);
+            return savedRoom;
         }
         throw new RuntimeException("Room not found with id: " + roomId);
     }
     
     @Override
     public void deleteRoom(Long roomId) {
-        if (!roomRepo.existsById(roomId)) {
-            throw new RuntimeException("Room not found with id: " + roomId);
-        }
-        roomRepo.deleteById(roomId);
+        Room room = roomRepo.findById(roomId)
+                .orElseThrow(() -> new RuntimeException("Room not found with id: " + roomId));
+        Long categoryId = room.getRoomCategory().getCategoryId();
+        // Bookings of the room, and their payments, are removed by cascade
+        dashboardAggregates.bookingsRemoved(bookingRepo.findBookingIdsByRoomId(roomId));
+        roomRepo.delete(room);
+        evictRoomLists(room);
+        TransactionCallbacks.afterCommit(() -> {
+            availabilityIndex.removeRoom(roomId);
+            pricingEngine.removeRoom(roomId);
+            roomNumberIndex.remove(roomId);
+            dynamicPricingJob.markDirty(categoryId);
+        });
     }
     
     @Override
@@ -84,6 +153,7 @@ public class RoomServiceImpl implements RoomService {
     
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.AVAILABLE_ROOMS)
     public List<Room> getAvailableRooms() {
         return roomRepo.findByAvailable(true);
     }
@@ -96,6 +166,7 @@ public class RoomServiceImpl implements RoomService {
     
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.ROOMS_BY_CATEGORY)
     public List<Room> getRoomsByCategoryName(String categoryName) {
         return roomRepo.findByRoomCategoryCategoryName(categoryName);
     }
@@ -112,12 +183,41 @@ public class RoomServiceImpl implements RoomService {
         return roomRepo.findAvailableRoomsByCategory(categoryName);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<Room> getBookableRooms(LocalDate checkIn, LocalDate checkOut, String categoryName,
+                                       BigDecimal minPrice, BigDecimal maxPrice) {
+        if (checkIn.isAfter(checkOut)) {
+            throw new RuntimeException("Check-in date cannot be after check-out date");
+        }
+        // Single anti-join against bookings instead of one conflict query per room
+        List<Room> rooms = roomRepo.findBookableRooms(checkIn, checkOut, categoryName);
+        if (minPrice == null && maxPrice == null) {
+            return rooms;
+        }
+        // The price bounds apply to what the stay would cost per night (seasonal rate, dynamic
+        // multiplier and rate rules included), which only the pricing engine knows
+        return rooms.stream()
+                .filter(room -> {
+                    BigDecimal nightlyPrice = averageNightlyRate(pricingEngine.quote(room, checkIn, checkOut));
+                    return (minPrice == null || nightlyPrice.compareTo(minPrice) >= 0)
+                            && (maxPrice == null || nightlyPrice.compareTo(maxPrice) <= 0);
+                })
+                .toList();
+    }
+    
+    private static BigDecimal averageNightlyRate(PriceQuote quote) {
+        return quote.getTotalAmount().divide(BigDecimal.valueOf(quote.getNightlyRates().size()), 2,
+                RoundingMode.HALF_UP);
+    }
+    
     @Override
     public Room updateRoomAvailability(Long roomId, Boolean available) {
         Optional<Room> roomOpt = roomRepo.findById(roomId);
         if (roomOpt.isPresent()) {
             Room room = roomOpt.get();
             room.setAvailable(available);
+            evictRoomLists(room);
             return roomRepo.save(room);
         }
         throw new RuntimeException("Room not found with id: " + roomId);
@@ -130,7 +230,10 @@ public class RoomServiceImpl implements RoomService {
             Room room = roomOpt.get();
             room.setPricePerNight(newPrice);
             room.setLastPriceUpdate(LocalDateTime.now());
-            return roomRepo.save(room);
+            Room savedRoom = roomRepo.save(room);
+            syncPricing(savedRoom);
+            evictRoomLists(savedRoom);
+            return savedRoom;
         }
         throw new RuntimeException("Room not found with id: " + roomId);
     }
@@ -142,7 +245,10 @@ public class RoomServiceImpl implements RoomService {
             Room room = roomOpt.get();
             room.setSeasonalRate(seasonalRate);
             room.setLastPriceUpdate(LocalDateTime.now());
-            return roomRepo.save(room);
+            Room savedRoom = roomRepo.save(room);
+            syncPricing(savedRoom);
+            evictRoomLists(savedRoom);
+            return savedRoom;
         }
         throw new RuntimeException("Room not found with id: " + roomId);
     }
@@ -152,13 +258,74 @@ public class RoomServiceImpl implements RoomService {
         Optional<Room> roomOpt = roomRepo.findById(roomId);
         if (roomOpt.isPresent()) {
             Room room = roomOpt.get();
+            LocalDateTime now = LocalDateTime.now();
             room.setDynamicPriceMultiplier(multiplier);
-            room.setLastPriceUpdate(LocalDateTime.now());
-            return roomRepo.save(room);
+            room.setManualMultiplierUntil(now.plusHours(manualOverrideHours));
+            room.setLastPriceUpdate(now);
+            Room savedRoom = roomRepo.save(room);
+            syncPricing(savedRoom);
+            evictRoomLists(savedRoom);
+            return savedRoom;
         }
         throw new RuntimeException("Room not found with id: " + roomId);
     }
     
+    @Override
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.AVAILABLE_ROOMS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ROOMS_BY_CATEGORY, allEntries = true)
+    })
+    public int bulkUpdatePricing(BulkPriceUpdate update) {
+        boolean byCategory = update.getCategoryName() != null && !update.getCategoryName().isBlank();
+        boolean byIds = update.getRoomIds() != null && !update.getRoomIds().isEmpty();
+        if (byCategory == byIds) {
+            throw new RuntimeException("Specify either a category name or a list of room ids");
+        }
+        if (update.getPricePerNight() == null && update.getSeasonalRate() == null
+                && update.getDynamicPriceMultiplier() == null) {
+            throw new RuntimeException("Specify at least one of pricePerNight, seasonalRate or dynamicPriceMultiplier");
+        }
+        if (update.getPricePerNight() != null && update.getPricePerNight().signum() <= 0) {
+            throw new RuntimeException("Price per night must be positive");
+        }
+        if (update.getDynamicPriceMultiplier() != null && update.getDynamicPriceMultiplier().signum() <= 0) {
+            throw new RuntimeException("Dynamic price multiplier must be positive");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        // A multiplier set here overrides DynamicPricingJob for a while
+        LocalDateTime manualUntil = update.getDynamicPriceMultiplier() != null ? now.plusHours(manualOverrideHours) : null;
+        int updated = 0;
+        List<Room> updatedRooms = new ArrayList<>();
+        if (byCategory) {
+            updated = roomRepo.updatePricingByCategory(update.getCategoryName(), update.getPricePerNight(),
+                    update.getSeasonalRate(), update.getDynamicPriceMultiplier(), manualUntil, now);
+            updatedRooms.addAll(roomRepo.findByRoomCategoryCategoryName(update.getCategoryName()));
+        } else {
+            // One UPDATE per chunk keeps the IN list within sensible statement sizes
+            List<Long> roomIds = update.getRoomIds().stream().distinct().toList();
+            for (int from = 0; from < roomIds.size(); from += bulkChunkSize) {
+                List<Long> chunk = roomIds.subList(from, Math.min(from + bulkChunkSize, roomIds.size()));
+                updated += roomRepo.updatePricingByIds(chunk, update.getPricePerNight(),
+                        update.getSeasonalRate(), update.getDynamicPriceMultiplier(), manualUntil, now);
+                updatedRooms.addAll(roomRepo.findAllById(chunk));
+            }
+        }
+        updatedRooms.forEach(this::syncPricing);
+        return updated;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PriceQuote getQuote(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn.isAfter(checkOut)) {
+            throw new RuntimeException("Check-in date cannot be after check-out date");
+        }
+        Room room = roomRepo.findById(roomId)
+                .orElseThrow(() -> new RuntimeException("Room not found with id: " + roomId));
+        return pricingEngine.quote(room, checkIn, checkOut);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<Room> getRoomsWithPagination(Pageable pageable) {
@@ -173,7 +340,53 @@ public class RoomServiceImpl implements RoomService {
     
     @Override
     @Transactional(readOnly = true)
+    public Slice<Room> getRoomsAfter(String roomNumber, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (roomNumber == null) {
+            return roomRepo.findFirstRoomsByNumber(pageable);
+        }
+        return roomRepo.findRoomsAfterNumber(roomNumber, pageable);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean existsByRoomNumber(String roomNumber) {
+        // The index only follows this instance's writes, so with several instances either answer may be stale
+        if (roomNumberIndexAuthoritative) {
+            return roomNumberIndex.contains(roomNumber);
+        }
         return roomRepo.existsByRoomNumber(roomNumber);
     }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<RoomSuggestion> suggestRooms(String prefix, int limit) {
+        // No transaction, so a keystroke never takes a connection from the pool
+        return roomNumberIndex.suggest(prefix, limit);
+    }
+    
+    private void syncPricing(Room room) {
+        Long roomId = room.getRoomId();
+        Long categoryId = room.getRoomCategory().getCategoryId();
+        BigDecimal currentPrice = room.getCurrentPrice();
+        TransactionCallbacks.afterCommit(() -> pricingEngine.refreshRoom(roomId, categoryId, currentPrice));
+    }
+    
+    private void syncRoomNumber(Room room) {
+        RoomSuggestion suggestion = new RoomSuggestion(room.getRoomId(), room.getRoomNumber(),
+                room.getRoomCategory().getCategoryId());
+        TransactionCallbacks.afterCommit(() -> roomNumberIndex.put(suggestion));
+    }
+    
+    // Cached room lists hold the room's price and availability
+    private void evictRoomLists(Room room) {
+        cacheManager.getCache(CacheConfig.AVAILABLE_ROOMS).clear();
+        evict(CacheConfig.ROOMS_BY_CATEGORY, room.getRoomCategory().getCategoryName());
+    }
+    
+    private void evict(String cacheName, Object key) {
+        if (key != null) {
+            cacheManager.getCache(cacheName).evict(key);
+        }
+    }
 }
\ No newline at end of file
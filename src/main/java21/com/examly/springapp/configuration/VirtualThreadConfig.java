@@ -0,0 +1,57 @@
+package com.examly.springapp.configuration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs servlet requests and async work on virtual threads instead of platform thread pools.
+ *
+ * Requests spend most of their time blocked on JDBC, so with Tomcat's pool of
+ * server.tomcat.threads.max platform threads the server saturates long before the CPU
+ * does. With one virtual thread per request, blocking parks the request and frees its
+ * carrier. Concurrency is then bounded by the Hikari pool instead, which the
+ * virtual-threads profile sizes.
+ *
+ * Built only by the java21 Maven profile and enabled by app.threads.virtual.enabled.
+ * The task executor replaces Spring Boot's applicationTaskExecutor, which runs async
+ * methods and the streaming bodies of async MVC requests. Scheduled jobs keep their
+ * own scheduler thread. Both executors are closed with the context, which waits for
+ * running tasks to finish. VirtualThreadGuard fails startup if the property is set on a
+ * build without this class.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // Tomcat does not shut down an executor it was given, so the context closes it
+    @Bean(destroyMethod = "close")
+    public ExecutorService virtualThreadRequestExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService virtualThreadTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-vt-", 0).factory());
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            @Qualifier("virtualThreadRequestExecutor") ExecutorService executor) {
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(
+            @Qualifier("virtualThreadTaskExecutor") ExecutorService executor) {
+        return new TaskExecutorAdapter(executor);
+    }
+}
\ No newline at end of file
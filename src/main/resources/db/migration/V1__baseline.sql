@@ -0,0 +1,75 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). Databases created that
+-- way are baselined at this version and only run later migrations.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE guests (
+    guest_id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
+    registration_date DATETIME(6),
+    PRIMARY KEY (guest_id),
+    CONSTRAINT uk_guests_phone UNIQUE (phone),
+    CONSTRAINT uk_guests_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE room_categories (
+    category_id BIGINT NOT NULL AUTO_INCREMENT,
+    category_name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (category_id),
+    CONSTRAINT uk_room_categories_category_name UNIQUE (category_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE rooms (
+    room_id BIGINT NOT NULL AUTO_INCREMENT,
+    room_number VARCHAR(255) NOT NULL,
+    price_per_night DECIMAL(38, 2) NOT NULL,
+    available BIT NOT NULL,
+    seasonal_rate DECIMAL(38, 2),
+    dynamic_price_multiplier DECIMAL(38, 2),
+    last_price_update DATETIME(6),
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (room_id),
+    CONSTRAINT uk_rooms_room_number UNIQUE (room_number),
+    CONSTRAINT fk_rooms_category FOREIGN KEY (category_id) REFERENCES room_categories (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE bookings (
+    booking_id BIGINT NOT NULL AUTO_INCREMENT,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    total_amount DECIMAL(38, 2) NOT NULL,
+    booking_date DATETIME(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    number_of_guests INTEGER,
+    special_requests VARCHAR(255),
+    guest_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    PRIMARY KEY (booking_id),
+    CONSTRAINT fk_bookings_guest FOREIGN KEY (guest_id) REFERENCES guests (guest_id),
+    CONSTRAINT fk_bookings_room FOREIGN KEY (room_id) REFERENCES rooms (room_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE payments (
+    payment_id BIGINT NOT NULL AUTO_INCREMENT,
+    amount DECIMAL(38, 2) NOT NULL,
+    payment_date DATETIME(6) NOT NULL,
+    payment_method VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255),
+    payment_reference VARCHAR(255),
+    notes VARCHAR(255),
+    booking_id BIGINT NOT NULL,
+    PRIMARY KEY (payment_id),
+    CONSTRAINT fk_payments_booking FOREIGN KEY (booking_id) REFERENCES bookings (booking_id)
+) ENGINE = InnoDB;
\ No newline at end of file
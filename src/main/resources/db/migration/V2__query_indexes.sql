@@ -0,0 +1,28 @@
+-- Composite indexes for the hot repository queries. INPLACE/LOCK=NONE builds them
+-- online, so reads and writes continue while a large table is indexed.
+
+-- Conflict checks, bookable room search and occupancy reports: room, then date overlap
+ALTER TABLE bookings
+    ADD INDEX idx_bookings_room_dates (room_id, check_in_date, check_out_date, status),
+    -- findByStatus (sorted by booking date) and countByStatus
+    ADD INDEX idx_bookings_status_booking_date (status, booking_date, booking_id),
+    -- findBookingsByDateRange and cancellation counts
+    ADD INDEX idx_bookings_check_in_date (check_in_date, check_out_date, status),
+    -- Availability index warm-up (stays ending on or after a date)
+    ADD INDEX idx_bookings_check_out_date (check_out_date, status),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE payments
+    -- findByBookingId, paid amount per booking and aggregate subtraction on delete
+    ADD INDEX idx_payments_booking_status (booking_id, status, amount),
+    -- findByStatus and countByStatus
+    ADD INDEX idx_payments_status_date (status, payment_date),
+    ADD INDEX idx_payments_method_date (payment_method, payment_date),
+    ADD INDEX idx_payments_transaction_id (transaction_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE rooms
+    -- findByAvailable, available rooms per category and bookable room search
+    ADD INDEX idx_rooms_available_category (available, category_id, room_number),
+    ADD INDEX idx_rooms_price_per_night (price_per_night),
+    ALGORITHM = INPLACE, LOCK = NONE;
\ No newline at end of file
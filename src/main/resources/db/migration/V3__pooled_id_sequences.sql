@@ -0,0 +1,15 @@
+-- Bookings and payments take ids from pooled sequences so Hibernate can batch their
+-- inserts. MySQL has no sequences; Hibernate emulates them with a one-row table.
+-- Each sequence starts after the highest id already assigned by AUTO_INCREMENT.
+
+CREATE TABLE booking_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO booking_seq (next_val) SELECT COALESCE(MAX(booking_id), 0) + 1 FROM bookings;
+
+CREATE TABLE payment_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO payment_seq (next_val) SELECT COALESCE(MAX(payment_id), 0) + 1 FROM payments;
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- Guests take ids from a pooled sequence so bulk imports can batch their inserts
+-- (see V3 for how Hibernate emulates sequences on MySQL).
+
+CREATE TABLE guest_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO guest_seq (next_val) SELECT COALESCE(MAX(guest_id), 0) + 1 FROM guests;
\ No newline at end of file
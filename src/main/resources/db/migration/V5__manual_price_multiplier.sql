@@ -0,0 +1,6 @@
+-- Multipliers set by hand (PATCH /api/rooms/{id}/dynamic-pricing or the bulk pricing endpoint)
+-- are left alone by DynamicPricingJob until this time. INSTANT adds the column without
+-- rebuilding the table.
+ALTER TABLE rooms
+    ADD COLUMN manual_multiplier_until DATETIME(6),
+    ALGORITHM = INSTANT;
\ No newline at end of file
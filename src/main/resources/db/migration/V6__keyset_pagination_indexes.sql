@@ -0,0 +1,10 @@
+-- Keyset pagination (GET /api/bookings and /api/payments with an "after" cursor) seeks on
+-- the sort date with the id as tie-breaker. Built online like the V2 indexes.
+
+ALTER TABLE bookings
+    ADD INDEX idx_bookings_booking_date_id (booking_date, booking_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE payments
+    ADD INDEX idx_payments_payment_date_id (payment_date, payment_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
\ No newline at end of file
@@ -0,0 +1,14 @@
+-- Date-ranged rate rules applied on top of the room price by PricingEngine; a rule without
+-- a category applies to every room.
+
+CREATE TABLE rate_rules (
+    rule_id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    multiplier DECIMAL(38, 2) NOT NULL,
+    adjustment DECIMAL(38, 2) NOT NULL,
+    category_id BIGINT,
+    PRIMARY KEY (rule_id),
+    CONSTRAINT fk_rate_rules_category FOREIGN KEY (category_id) REFERENCES room_categories (category_id)
+) ENGINE = InnoDB;
\ No newline at end of file
@@ -0,0 +1,25 @@
+-- Totals behind the dashboard endpoints, kept current by DashboardAggregates on every write.
+-- They start empty; AggregateReconciliationJob fills them from payments and bookings at the
+-- first startup after this migration.
+
+CREATE TABLE payment_daily_aggregates (
+    payment_day DATE NOT NULL,
+    payment_method VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    payment_count BIGINT NOT NULL,
+    total_amount DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (payment_day, payment_method, status)
+) ENGINE = InnoDB;
+
+CREATE TABLE payment_status_totals (
+    status VARCHAR(255) NOT NULL,
+    payment_count BIGINT NOT NULL,
+    total_amount DECIMAL(38, 2) NOT NULL,
+    PRIMARY KEY (status)
+) ENGINE = InnoDB;
+
+CREATE TABLE booking_status_counts (
+    status VARCHAR(255) NOT NULL,
+    booking_count BIGINT NOT NULL,
+    PRIMARY KEY (status)
+) ENGINE = InnoDB;
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.examly.springapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.model.Booking;
+import com.examly.springapp.model.Guest;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.GuestRepo;
+import com.examly.springapp.repository.RoomCategoryRepo;
+import com.examly.springapp.repository.RoomRepo;
+import com.examly.springapp.service.DashboardAggregates;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingConcurrencyTests {
+
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomCategoryRepo roomCategoryRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private GuestRepo guestRepo;
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private RoomCategory category;
+    private final List<Room> rooms = new ArrayList<>();
+    private Guest guest;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = roomCategoryRepo.save(new RoomCategory("Stress-" + suffix));
+        for (int i = 0; i < 3; i++) {
+            rooms.add(roomRepo.save(new Room("S" + suffix + "-" + i, new BigDecimal("1000"), true, category)));
+        }
+        guest = guestRepo.save(new Guest("Stress Guest", "9" + suffix, "stress-" + suffix + "@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The bookings came in through the API, so take them off the dashboard aggregates as well
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Room room : rooms) {
+                List<Booking> bookings = bookingRepo.findByRoomId(room.getRoomId());
+                dashboardAggregates.bookingsRemoved(bookings.stream().map(Booking::getBookingId).toList());
+                bookingRepo.deleteAll(bookings);
+            }
+        });
+        roomRepo.deleteAll(rooms);
+        guestRepo.delete(guest);
+        roomCategoryRepo.delete(category);
+    }
+
+    @Test
+    void concurrentOverlappingBookings_NeverCommitAnOverlap() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> responses = new ArrayList<>(REQUESTS);
+        LocalDate firstNight = LocalDate.now().plusDays(1);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Room room = rooms.get(random.nextInt(rooms.size()));
+                LocalDate checkIn = firstNight.plusDays(random.nextInt(20));
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(4));
+                String body = "{ \"checkInDate\": \"" + checkIn + "\", \"checkOutDate\": \"" + checkOut + "\", " +
+                        "\"room\": { \"roomId\": " + room.getRoomId() + " }, " +
+                        "\"guest\": { \"guestId\": " + guest.getGuestId() + " } }";
+                return mockMvc.perform(MockMvcRequestBuilders.post("/api/bookings")
+                                .with(user("stress"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "Stress run did not finish in time");
+
+        int created = 0;
+        for (Future<Integer> response : responses) {
+            if (response.get() == 201) {
+                created++;
+            }
+        }
+        assertTrue(created > 0, "No booking was accepted");
+
+        int committed = 0;
+        for (Room room : rooms) {
+            List<Booking> bookings = bookingRepo.findByRoomId(room.getRoomId());
+            committed += bookings.size();
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    Booking a = bookings.get(i);
+                    Booking b = bookings.get(j);
+                    boolean overlaps = !a.getCheckInDate().isAfter(b.getCheckOutDate())
+                            && !a.getCheckOutDate().isBefore(b.getCheckInDate());
+                    assertFalse(overlaps, "Bookings " + a.getBookingId() + " and " + b.getBookingId()
+                            + " overlap on room " + room.getRoomNumber());
+                }
+            }
+        }
+        assertEquals(created, committed, "Every accepted booking should be committed exactly once");
+    }
+}
@@ -0,0 +1,259 @@
+package com.examly.springapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.model.Booking;
+import com.examly.springapp.model.Guest;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.GuestRepo;
+import com.examly.springapp.repository.RoomCategoryRepo;
+import com.examly.springapp.repository.RoomRepo;
+import com.examly.springapp.repository.UserRepo;
+import com.examly.springapp.service.DashboardAggregates;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Throughput and latency of booking creation over real HTTP, to compare the platform
+ * thread and virtual thread request modes. Skipped unless -Dloadtest=true; run it once
+ * per mode against the same database and compare the printed results:
+ *
+ *   mvn -Pjava21 test -Dtest=BookingLoadTest -Dloadtest=true
+ *   mvn -Pjava21 test -Dtest=BookingLoadTest -Dloadtest=true -Dspring.profiles.active=virtual-threads
+ *
+ * The thread type is read from Tomcat's request executor rather than taken from the
+ * property, so a build without -Pjava21 cannot report platform threads as virtual.
+ *
+ * Every request books its own room and nights, so the numbers measure the request path
+ * rather than conflict rejections. SQL logging is switched off so it does not dominate
+ * the request path. Client count and request count are set with
+ * -Dloadtest.clients and -Dloadtest.requests.
+ *
+ * 20000 requests from 100 clients after 2000 warmup requests, JDK 21.0.1, one CPU,
+ * MariaDB 11.4.5:
+ *
+ *   platform threads, pool 10   74 req/s, p50 1268 ms, p99 2678 ms, max 3075 ms
+ *   virtual threads, pool 40   104 req/s, p50  870 ms, p99 1953 ms, max 2605 ms
+ *
+ * With the default 400 clients on one CPU, platform threads reach 77 req/s (p50 5145 ms,
+ * p99 9004 ms), the requests beyond Tomcat's 200 threads waiting in its accept queue. In
+ * virtual threads all of them wait for a writer slot in RoomBookingLocks, and during the
+ * cold warmup 689 of 2000 gave up after app.booking.lock-timeout-ms.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class BookingLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 20000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("loadtest.warmup", 2000);
+    private static final int ROOMS = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${app.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Autowired
+    private RoomCategoryRepo roomCategoryRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private GuestRepo guestRepo;
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ServletWebServerApplicationContext webServerContext;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private RoomCategory category;
+    private final List<Room> rooms = new ArrayList<>();
+    private Guest guest;
+    private String username;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = roomCategoryRepo.save(new RoomCategory("Load-" + suffix));
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(roomRepo.save(new Room("L" + suffix + "-" + i, new BigDecimal("1000"), true, category)));
+        }
+        guest = guestRepo.save(new Guest("Load Guest", "8" + suffix, "load-" + suffix + "@example.com"));
+
+        username = "load-" + suffix;
+        String credentials = "{ \"username\": \"" + username + "\", \"password\": \"load-test\", \"role\": \"ADMIN\" }";
+        send(post("/api/auth/register", credentials));
+        HttpResponse<String> login = send(post("/api/auth/login", credentials));
+        token = objectMapper.readTree(login.body()).get("token").asText();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The bookings came in through the API, so take them off the dashboard aggregates as well.
+        // One transaction per room keeps each well inside the transaction timeout
+        for (Room room : rooms) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Booking> bookings = bookingRepo.findByRoomId(room.getRoomId());
+                dashboardAggregates.bookingsRemoved(bookings.stream().map(Booking::getBookingId).toList());
+                bookingRepo.deleteAll(bookings);
+            });
+        }
+        roomRepo.deleteAll(rooms);
+        guestRepo.delete(guest);
+        roomCategoryRepo.delete(category);
+        userRepo.findByUsername(username).ifPresent(userRepo::delete);
+    }
+
+    @Test
+    void createBookings_ReportsThroughputAndLatency() throws Exception {
+        boolean virtualThreads = requestThreadsAreVirtual();
+        assertEquals(virtualThreadsEnabled, virtualThreads, "Requests should run on the thread type the mode asks for");
+        AtomicInteger slot = new AtomicInteger();
+        run(WARMUP_REQUESTS, slot);
+
+        long start = System.nanoTime();
+        long[] latencies = run(REQUESTS, slot);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("Booking load test (%s threads, pool %d, %d clients): %d requests in %.1f s, "
+                        + "%.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                virtualThreads ? "virtual" : "platform", poolSize, CLIENTS, REQUESTS, seconds, REQUESTS / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    // Sends count booking requests from CLIENTS concurrent clients and returns their latencies in nanoseconds
+    private long[] run(int count, AtomicInteger slot) throws Exception {
+        long[] latencies = new long[count];
+        AtomicInteger failures = new AtomicInteger();
+        LocalDate firstNight = LocalDate.now().plusDays(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            executor.execute(() -> {
+                // Consecutive slots spread over the rooms; each room gets one-night stays two nights apart
+                int next = slot.getAndIncrement();
+                Room room = rooms.get(next % ROOMS);
+                LocalDate checkIn = firstNight.plusDays(2L * (next / ROOMS));
+                String body = "{ \"checkInDate\": \"" + checkIn + "\", \"checkOutDate\": \"" + checkIn.plusDays(1) + "\", " +
+                        "\"room\": { \"roomId\": " + room.getRoomId() + " }, " +
+                        "\"guest\": { \"guestId\": " + guest.getGuestId() + " } }";
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<String> response = send(post("/api/bookings", body));
+                    if (response.statusCode() != 201) {
+                        failures.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+                latencies[index] = System.nanoTime() - sent;
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.MINUTES), "Load run did not finish in time");
+        assertEquals(0, failures.get(), "Every booking request should be accepted");
+        return latencies;
+    }
+
+    // Runs a task on Tomcat's request executor and reports the kind of thread it ran on
+    private boolean requestThreadsAreVirtual() throws Exception {
+        Executor executor = ((TomcatWebServer) webServerContext.getWebServer()).getTomcat()
+                .getConnector().getProtocolHandler().getExecutor();
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> virtual.complete(isVirtual(Thread.currentThread())));
+        return virtual.get(10, TimeUnit.SECONDS);
+    }
+
+    // Thread.isVirtual only exists from Java 21; before that every thread is a platform thread
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest post(String path, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
\ No newline at end of file
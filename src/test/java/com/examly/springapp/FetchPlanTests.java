@@ -0,0 +1,131 @@
+package com.examly.springapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.examly.springapp.model.Booking;
+import com.examly.springapp.model.Guest;
+import com.examly.springapp.model.Payment;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.GuestRepo;
+import com.examly.springapp.repository.PaymentRepo;
+import com.examly.springapp.repository.RoomCategoryRepo;
+import com.examly.springapp.repository.RoomRepo;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements behind the list endpoints to make sure lazy
+ * associations are fetched by the repository entity graphs and not one row at a time.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class FetchPlanTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoomCategoryRepo roomCategoryRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private GuestRepo guestRepo;
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    private final List<RoomCategory> categories = new ArrayList<>();
+    private final List<Room> rooms = new ArrayList<>();
+    private final List<Guest> guests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        seed(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Rooms and guests cascade to their bookings, bookings to their payments. Deleting by id
+        // removes the loaded entities; merging the detached ones would empty their collections first
+        roomRepo.deleteAllById(rooms.stream().map(Room::getRoomId).toList());
+        guestRepo.deleteAllById(guests.stream().map(Guest::getGuestId).toList());
+        roomCategoryRepo.deleteAll(categories);
+    }
+
+    @Test
+    void getAllPayments_RunsConstantNumberOfStatements() throws Exception {
+        long before = statementsFor("/api/payments");
+        seed(5);
+        long after = statementsFor("/api/payments");
+        assertEquals(1, before);
+        assertEquals(before, after);
+    }
+
+    @Test
+    void getAllBookings_RunsConstantNumberOfStatements() throws Exception {
+        long before = statementsFor("/api/bookings");
+        seed(5);
+        long after = statementsFor("/api/bookings");
+        assertEquals(1, before);
+        assertEquals(before, after);
+    }
+
+    @Test
+    void getAllRooms_RunsConstantNumberOfStatements() throws Exception {
+        long before = statementsFor("/api/rooms");
+        seed(5);
+        long after = statementsFor("/api/rooms");
+        assertEquals(1, before);
+        assertEquals(before, after);
+    }
+
+    private long statementsFor(String path) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(MockMvcRequestBuilders.get(path).with(user("fetch-plan")));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            RoomCategory category = roomCategoryRepo.save(new RoomCategory("Fetch-" + suffix));
+            Room room = roomRepo.save(new Room("F" + suffix, new BigDecimal("1500"), true, category));
+            Guest guest = guestRepo.save(new Guest("Fetch Guest", "8" + suffix, "fetch-" + suffix + "@example.com"));
+            LocalDate checkIn = LocalDate.now().plusDays(10);
+            Booking booking = bookingRepo.save(new Booking(checkIn, checkIn.plusDays(2), new BigDecimal("3000"), guest, room));
+            paymentRepo.save(new Payment(new BigDecimal("3000"), Payment.PaymentMethod.UPI, booking));
+            categories.add(category);
+            rooms.add(room);
+            guests.add(guest);
+        }
+    }
+}
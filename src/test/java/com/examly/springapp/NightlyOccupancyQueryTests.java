@@ -0,0 +1,153 @@
+package com.examly.springapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.dto.NightlyOccupancy;
+import com.examly.springapp.model.Booking;
+import com.examly.springapp.model.Guest;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.GuestRepo;
+import com.examly.springapp.repository.RoomCategoryRepo;
+import com.examly.springapp.repository.RoomRepo;
+import com.examly.springapp.service.DashboardAggregates;
+
+/**
+ * Checks BookingRepo.findNightlyOccupancy against a night-by-night count of the seeded
+ * stays and, with -Dloadtest=true, times it on a larger seed:
+ *
+ *   mvn test -Dtest=NightlyOccupancyQueryTests -Dloadtest=true -Dloadtest.rooms=500 -Dloadtest.bookings=200000
+ */
+@SpringBootTest
+class NightlyOccupancyQueryTests {
+
+    private static final int ROOMS = Integer.getInteger("loadtest.rooms", 20);
+    private static final int BOOKINGS = Integer.getInteger("loadtest.bookings", 400);
+    private static final int DAYS = 365;
+    private static final int SEED_CHUNK = 1000;
+    private static final BigDecimal NIGHTLY_RATE = new BigDecimal("1000");
+
+    @Autowired
+    private RoomCategoryRepo roomCategoryRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private GuestRepo guestRepo;
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate firstNight = LocalDate.now().plusYears(1);
+
+    private RoomCategory category;
+    private final List<Room> rooms = new ArrayList<>();
+    private Guest guest;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        category = roomCategoryRepo.save(new RoomCategory("Occupancy-" + suffix));
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(roomRepo.save(new Room("O" + suffix + "-" + i, NIGHTLY_RATE, true, category)));
+        }
+        guest = guestRepo.save(new Guest("Occupancy Guest", "7" + suffix, "occupancy-" + suffix + "@example.com"));
+
+        // Stays of one to seven nights spread over the year, one in ten cancelled
+        Random random = new Random(42);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDate checkIn = firstNight.plusDays(random.nextInt(DAYS));
+            int nights = 1 + random.nextInt(7);
+            Booking booking = new Booking(checkIn, checkIn.plusDays(nights), NIGHTLY_RATE.multiply(BigDecimal.valueOf(nights)),
+                    guest, rooms.get(random.nextInt(ROOMS)));
+            if (random.nextInt(10) == 0) {
+                booking.setStatus(Booking.BookingStatus.CANCELLED);
+            }
+            bookings.add(booking);
+        }
+        for (int from = 0; from < bookings.size(); from += SEED_CHUNK) {
+            List<Booking> chunk = bookings.subList(from, Math.min(from + SEED_CHUNK, bookings.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                bookingRepo.saveAll(chunk);
+                dashboardAggregates.bookingsAdded(chunk);
+            });
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Long> bookingIds = bookings.stream().map(Booking::getBookingId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            dashboardAggregates.bookingsRemoved(bookingIds);
+            bookingRepo.deleteAllByIdInBatch(bookingIds);
+        });
+        roomRepo.deleteAll(rooms);
+        guestRepo.delete(guest);
+        roomCategoryRepo.delete(category);
+    }
+
+    @Test
+    void findNightlyOccupancy_MatchesNightByNightCount() {
+        // Starts inside the seeded year so stays checked in before the range are counted too
+        LocalDate from = firstNight.plusDays(30);
+        LocalDate to = firstNight.plusDays(120);
+
+        List<NightlyOccupancy> occupancy = bookingRepo.findNightlyOccupancy(category.getCategoryId(), from, to);
+
+        assertEquals(to.toEpochDay() - from.toEpochDay() + 1, occupancy.size());
+        for (NightlyOccupancy row : occupancy) {
+            long expected = bookings.stream()
+                    .filter(booking -> booking.getStatus() != Booking.BookingStatus.CANCELLED)
+                    .filter(booking -> !booking.getCheckInDate().isAfter(row.getNight())
+                            && booking.getCheckOutDate().isAfter(row.getNight()))
+                    .count();
+            assertEquals(expected, row.getOccupiedRooms().longValue(), "Occupied rooms on " + row.getNight());
+            assertEquals(0, NIGHTLY_RATE.multiply(BigDecimal.valueOf(expected)).compareTo(row.getRoomRevenue()),
+                    "Room revenue on " + row.getNight() + " was " + row.getRoomRevenue());
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "loadtest", matches = "true")
+    void findNightlyOccupancy_ReportsTiming() {
+        LocalDate to = firstNight.plusDays(DAYS - 1);
+        for (int i = 0; i < 5; i++) {
+            bookingRepo.findNightlyOccupancy(category.getCategoryId(), firstNight, to);
+        }
+
+        long[] timings = new long[20];
+        for (int i = 0; i < timings.length; i++) {
+            long start = System.nanoTime();
+            bookingRepo.findNightlyOccupancy(category.getCategoryId(), firstNight, to);
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        System.out.printf("Nightly occupancy over %d nights (%d rooms, %d bookings): median %.1f ms, max %.1f ms%n",
+                DAYS, ROOMS, BOOKINGS, timings[timings.length / 2] / 1e6, timings[timings.length - 1] / 1e6);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.examly.springapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.examly.springapp.model.Booking;
+import com.examly.springapp.model.Guest;
+import com.examly.springapp.model.Payment;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.BookingRepo;
+import com.examly.springapp.repository.GuestRepo;
+import com.examly.springapp.repository.PaymentRepo;
+import com.examly.springapp.repository.RoomCategoryRepo;
+import com.examly.springapp.repository.RoomRepo;
+import com.examly.springapp.service.DashboardAggregates;
+
+/**
+ * Runs EXPLAIN on the SQL shape of each hot repository query and checks that the
+ * optimizer picks the index added for it in the V2 or V6 migration.
+ *
+ * The optimizer only chooses between plans by their estimated cost, so the tables are
+ * first seeded with rows spread like production data (a year of stays over many
+ * rooms, payments on most bookings) and their statistics refreshed with ANALYZE TABLE.
+ * The seeded year ends two months after the dates in the SQL, so the date probes
+ * select a small share of the rows, as they do on a live system.
+ * {room}, {booking} and {email} in the SQL stand for a seeded room, booking and guest.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexTests {
+
+    private static final int ROOMS = 200;
+    private static final int BOOKINGS = 4000;
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2029, 3, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomCategoryRepo roomCategoryRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private GuestRepo guestRepo;
+
+    @Autowired
+    private BookingRepo bookingRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RoomCategory category;
+    private final List<Room> rooms = new ArrayList<>();
+    private Guest guest;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Random random = new Random(7);
+        category = roomCategoryRepo.save(new RoomCategory("Explain-" + suffix));
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(new Room("E" + suffix + "-" + i, BigDecimal.valueOf(500 + 250L * i), random.nextInt(10) > 0, category));
+        }
+        roomRepo.saveAll(rooms);
+        guest = guestRepo.save(new Guest("Explain Guest", "6" + suffix, "explain-" + suffix + "@example.com"));
+
+        List<Payment> payments = new ArrayList<>();
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        Payment.PaymentMethod[] methods = Payment.PaymentMethod.values();
+        Payment.PaymentStatus[] paymentStatuses = Payment.PaymentStatus.values();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDate checkIn = FIRST_NIGHT.plusDays(random.nextInt(365));
+            int nights = 1 + random.nextInt(7);
+            Booking booking = new Booking(checkIn, checkIn.plusDays(nights), BigDecimal.valueOf(1000L * nights),
+                    guest, rooms.get(random.nextInt(ROOMS)));
+            booking.setStatus(statuses[random.nextInt(statuses.length)]);
+            booking.setBookingDate(checkIn.minusDays(random.nextInt(60)).atStartOfDay());
+            bookings.add(booking);
+            if (random.nextInt(5) > 0) {
+                Payment payment = new Payment(booking.getTotalAmount(), methods[random.nextInt(methods.length)], booking);
+                payment.setStatus(paymentStatuses[random.nextInt(paymentStatuses.length)]);
+                payment.setPaymentDate(booking.getBookingDate());
+                payment.setTransactionId("TXN-" + UUID.randomUUID());
+                payments.add(payment);
+            }
+        }
+        // Several thousand inserts, more than spring.transaction.default-timeout allows for
+        TransactionTemplate seedTransaction = new TransactionTemplate(transactionManager);
+        seedTransaction.setTimeout(600);
+        seedTransaction.executeWithoutResult(status -> {
+            bookingRepo.saveAll(bookings);
+            paymentRepo.saveAll(payments);
+            dashboardAggregates.bookingsAdded(bookings);
+            dashboardAggregates.paymentsAdded(payments);
+        });
+
+        for (String table : List.of("bookings", "payments", "rooms", "guests")) {
+            jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        // Deleting the rooms cascades to the seeded bookings and their payments
+        transactionTemplate.executeWithoutResult(status ->
+                dashboardAggregates.bookingsRemoved(bookings.stream().map(Booking::getBookingId).toList()));
+        roomRepo.deleteAllById(rooms.stream().map(Room::getRoomId).toList());
+        guestRepo.delete(guest);
+        roomCategoryRepo.delete(category);
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("BookingRepo.existsConflictingBooking", "bookings", "idx_bookings_room_dates",
+                        "SELECT b.booking_id FROM bookings b WHERE b.room_id = {room} AND b.check_in_date <= '2030-01-10' "
+                                + "AND b.check_out_date >= '2030-01-05' AND b.status <> 'CANCELLED'"),
+                Arguments.of("BookingRepo.findByStatus", "bookings", "idx_bookings_status_booking_date",
+                        "SELECT b.booking_id FROM bookings b WHERE b.status = 'CONFIRMED' "
+                                + "ORDER BY b.booking_date DESC LIMIT 20"),
+                Arguments.of("BookingRepo.findBookingsByDateRange", "bookings", "idx_bookings_check_in_date",
+                        "SELECT b.booking_id FROM bookings b WHERE b.check_in_date >= '2030-01-01' "
+                                + "AND b.check_out_date <= '2030-02-01'"),
+                Arguments.of("BookingRepo.findActiveStaysEndingOnOrAfter", "bookings", "idx_bookings_check_out_date",
+                        "SELECT b.booking_id FROM bookings b WHERE b.check_out_date >= '2030-01-01' "
+                                + "AND b.status <> 'CANCELLED'"),
+                Arguments.of("PaymentRepo.findByBookingId", "payments", "idx_payments_booking_status",
+                        "SELECT p.payment_id FROM payments p WHERE p.booking_id = {booking}"),
+                Arguments.of("PaymentRepo.findByStatus", "payments", "idx_payments_status_date",
+                        "SELECT p.payment_id FROM payments p WHERE p.status = 'COMPLETED'"),
+                Arguments.of("PaymentRepo.findPaymentsByDateRange", "payments", "idx_payments_payment_date_id",
+                        "SELECT p.payment_id FROM payments p "
+                                + "WHERE p.payment_date BETWEEN '2030-01-01' AND '2030-02-01'"),
+                Arguments.of("PaymentRepo.findByTransactionId", "payments", "idx_payments_transaction_id",
+                        "SELECT p.payment_id FROM payments p WHERE p.transaction_id = 'TXN-00000000'"),
+                // Unique constraint, named by Hibernate on databases baselined from ddl-auto
+                Arguments.of("GuestRepo.findByEmail", "guests", null,
+                        "SELECT g.guest_id FROM guests g WHERE g.email = '{email}'"),
+                Arguments.of("RoomRepo.findByAvailable", "rooms", "idx_rooms_available_category",
+                        "SELECT r.room_id FROM rooms r WHERE r.available = TRUE"),
+                Arguments.of("RoomRepo.findByPriceRange", "rooms", "idx_rooms_price_per_night",
+                        "SELECT r.room_id FROM rooms r WHERE r.price_per_night BETWEEN 1000 AND 5000"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesItsIndex(String query, String table, String index, String sql) {
+        String seededSql = sql.replace("{room}", rooms.get(0).getRoomId().toString())
+                .replace("{booking}", bookings.get(0).getBookingId().toString())
+                .replace("{email}", guest.getEmail());
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + seededSql);
+        String alias = table.substring(0, 1);
+        Map<String, Object> row = plan.stream()
+                .filter(step -> alias.equals(step.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(query + ": no plan step for " + table + " in " + plan));
+
+        String key = (String) row.get("key");
+        if (index == null) {
+            assertNotNull(key, query + " uses no index, plan: " + plan);
+        } else {
+            assertEquals(index, key, query + " does not use " + index + ", plan: " + plan);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.examly.springapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.examly.springapp.aop.LoggingAspect;
+import com.examly.springapp.controller.RoomCategoryController;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.service.RoomCategoryService;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Per-call overhead of LoggingAspect on a controller method, compared with the same
+ * controller without the aspect. The service is a mock, so the numbers isolate the
+ * advice cost. Run with: java -cp target/test-classes:<test classpath> ...LoggingAspectBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingAspectBenchmark {
+
+    @Param({"WARN", "INFO"})
+    public String logLevel;
+
+    private RoomCategoryController plainController;
+
+    private RoomCategoryController advisedController;
+
+    private RoomCategory category;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.examly.springapp")).setLevel(Level.toLevel(logLevel));
+
+        RoomCategoryService service = Mockito.mock(RoomCategoryService.class);
+        Mockito.when(service.createRoomCategory(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        plainController = new RoomCategoryController();
+        ReflectionTestUtils.setField(plainController, "roomCategoryService", service);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(plainController);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect());
+        advisedController = proxyFactory.getProxy();
+
+        category = new RoomCategory("Deluxe", "Sea-facing rooms with balcony");
+    }
+
+    @Benchmark
+    public ResponseEntity<RoomCategory> withoutAspect() {
+        return plainController.createRoomCategory(category);
+    }
+
+    @Benchmark
+    public ResponseEntity<RoomCategory> withAspect() {
+        return advisedController.createRoomCategory(category);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.examly.springapp.dto.PriceQuote;
+import com.examly.springapp.model.Room;
+import com.examly.springapp.model.RoomCategory;
+import com.examly.springapp.repository.RateRuleRepo;
+import com.examly.springapp.repository.RoomRepo;
+
+/**
+ * Rate tables must keep covering the next horizon-days nights after the day the
+ * application started.
+ */
+class PricingEngineTests {
+
+    private static final int HORIZON_DAYS = 30;
+
+    private final RoomRepo roomRepo = mock(RoomRepo.class);
+    private final RateRuleRepo rateRuleRepo = mock(RateRuleRepo.class);
+
+    private PricingEngine pricingEngine;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        RoomCategory category = new RoomCategory("Deluxe");
+        category.setCategoryId(1L);
+        room = new Room("101", new BigDecimal("1000"), true, category);
+        room.setRoomId(1L);
+        when(roomRepo.findAll()).thenReturn(List.of(room));
+        when(rateRuleRepo.findAllOrderByStartDate()).thenReturn(List.of());
+
+        pricingEngine = new PricingEngine();
+        ReflectionTestUtils.setField(pricingEngine, "roomRepo", roomRepo);
+        ReflectionTestUtils.setField(pricingEngine, "rateRuleRepo", rateRuleRepo);
+        ReflectionTestUtils.setField(pricingEngine, "horizonDays", HORIZON_DAYS);
+    }
+
+    @Test
+    void rollHorizon_CoversNightsPastTheStartupHorizon() {
+        LocalDate today = LocalDate.now();
+        // Tables as built by an application started before the current horizon began
+        pricingEngine.rebuild(today.minusDays(HORIZON_DAYS + 5));
+        LocalDate night = today.plusDays(10);
+        assertFalse(pricingEngine.covers(room.getRoomId(), night));
+
+        pricingEngine.rollHorizon();
+
+        assertTrue(pricingEngine.covers(room.getRoomId(), night));
+        assertTrue(pricingEngine.covers(room.getRoomId(), today.plusDays(HORIZON_DAYS - 1)));
+        PriceQuote quote = pricingEngine.quote(room, night, night.plusDays(2));
+        assertEquals(0, new BigDecimal("2000").compareTo(quote.getTotalAmount()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.examly.springapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.examly.springapp.repository.BookingRepo;
+
+/**
+ * The index must follow the calendar: past stays are dropped and the horizon start
+ * moves with the day, instead of both staying at the day the application started.
+ */
+class RoomAvailabilityIndexTests {
+
+    private static final Long ROOM_ID = 1L;
+
+    private final BookingRepo bookingRepo = mock(BookingRepo.class);
+
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepo.findActiveStaysEndingOnOrAfter(any())).thenReturn(List.of());
+        index = new RoomAvailabilityIndex();
+        ReflectionTestUtils.setField(index, "bookingRepo", bookingRepo);
+    }
+
+    @Test
+    void prune_DropsEndedStaysAndMovesTheHorizon() {
+        LocalDate today = LocalDate.now();
+        // An index loaded ten days ago, with a stay that has ended since, one ending today and one ahead
+        index.rebuild(today.minusDays(10));
+        index.put(1L, ROOM_ID, today.minusDays(8), today.minusDays(5));
+        index.put(2L, ROOM_ID, today.minusDays(2), today);
+        index.put(3L, ROOM_ID, today.plusDays(3), today.plusDays(6));
+        assertTrue(index.covers(today.minusDays(5)));
+
+        index.prune(today);
+
+        assertEquals(2, index.size());
+        assertFalse(index.covers(today.minusDays(1)));
+        assertTrue(index.covers(today));
+        assertTrue(index.hasConflict(ROOM_ID, today, today.plusDays(1), null));
+        assertTrue(index.hasConflict(ROOM_ID, today.plusDays(4), today.plusDays(5), null));
+        assertFalse(index.hasConflict(ROOM_ID, today.plusDays(1), today.plusDays(2), null));
+    }
+}
\ No newline at end of file